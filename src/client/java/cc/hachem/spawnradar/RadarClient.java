@@ -4,17 +4,21 @@ import cc.hachem.spawnradar.config.ConfigManager;
 import cc.hachem.spawnradar.config.ConfigSerializer;
 import cc.hachem.spawnradar.core.BlockBank;
 import cc.hachem.spawnradar.core.ChunkProcessingManager;
+import cc.hachem.spawnradar.core.ClusterIndex;
 import cc.hachem.spawnradar.core.ClusterManager;
 import cc.hachem.spawnradar.core.CommandManager;
 import cc.hachem.spawnradar.guide.GuideBookManager;
 import cc.hachem.spawnradar.core.KeyManager;
 import cc.hachem.spawnradar.core.SpawnerCluster;
+import cc.hachem.spawnradar.core.SpawnerBvh;
+import cc.hachem.spawnradar.core.SpawnerDatabase;
 import cc.hachem.spawnradar.core.SpawnerInfo;
 import cc.hachem.spawnradar.core.SpawnVolumeHelper;
 import cc.hachem.spawnradar.core.SpawnerEfficiencyManager;
 import cc.hachem.spawnradar.core.SpawnerMobCapStatusManager;
 import cc.hachem.spawnradar.core.SpawnerLightLevelManager;
 import cc.hachem.spawnradar.core.VolumeHighlightManager;
+import cc.hachem.spawnradar.core.VoxelRegion;
 import cc.hachem.spawnradar.hud.HudRenderer;
 import cc.hachem.spawnradar.hud.PanelWidget;
 import cc.hachem.spawnradar.network.RadarHandshakePayload;
@@ -23,6 +27,7 @@ import cc.hachem.spawnradar.renderer.BoxOutlineRenderer;
 import cc.hachem.spawnradar.renderer.FloatingTextRenderer;
 import cc.hachem.spawnradar.renderer.ItemTextureRenderer;
 import cc.hachem.spawnradar.renderer.MobPuppetRenderer;
+import cc.hachem.spawnradar.renderer.ViewFrustum;
 import cc.hachem.spawnradar.core.SpawnerEfficiencyAdvisor;
 
 import java.util.ArrayList;
@@ -32,6 +37,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import net.fabricmc.api.ClientModInitializer;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
@@ -60,6 +66,14 @@ public class RadarClient implements ClientModInitializer
     private static volatile boolean welcomeMessagePending = false;
     private static volatile boolean welcomeMessageSent = false;
     private static String cachedVersionString;
+    private static final double HIGHLIGHT_CULL_MARGIN = 6.0;
+    private static final List<SpawnerInfo> visibleHighlights = new ArrayList<>();
+    private static List<SpawnerInfo> cachedHighlights = List.of();
+    private static Set<BlockPos> cachedHighlightPositions = Set.of();
+    private static SpawnerBvh highlightBvh;
+    private static long highlightBvhRevision;
+    private static boolean highlightBvhBackgroundEnabled;
+    private static CompletableFuture<Void> clusterUpdate = CompletableFuture.completedFuture(null);
 
     public static LocalPlayer getPlayer()
     {
@@ -85,26 +99,70 @@ public class RadarClient implements ClientModInitializer
             }
         }
 
-        BlockBank.scanForSpawners(source, radius, () -> generateClustersChild(source, sorting));
+        BlockBank.scanForSpawners(source, radius,
+            () -> generateClustersChild(source, sorting),
+            () -> generateProvisionalClusters(source, sorting));
         RadarClient.LOGGER.debug("Scheduled cluster generation after scanning for spawners.");
         return true;
     }
 
-    public static void generateClustersChild(LocalPlayer source, String argument)
+    public static CompletableFuture<Void> generateClustersChild(LocalPlayer source, String argument)
     {
         List<SpawnerInfo> spawners = new ArrayList<>(BlockBank.getAll());
-        runClusterPipeline(source, spawners, argument);
+        return runClusterPipeline(source, spawners, argument);
     }
 
-    private static void runClusterPipeline(LocalPlayer source, List<SpawnerInfo> spawners, String argument)
+    private static void generateProvisionalClusters(LocalPlayer source, String argument)
     {
-        if (!validateSpawnerResults(source, spawners))
+        if (!clusterUpdate.isDone())
+        {
+            LOGGER.debug("Skipping provisional cluster update while the previous one is still running.");
+            return;
+        }
+
+        List<SpawnerInfo> spawners = new ArrayList<>(BlockBank.getAll());
+        if (spawners.isEmpty())
             return;
 
+        LOGGER.debug("Updating provisional clusters from {} streamed spawners.", spawners.size());
+        updateClusters(source, spawners, resolveSortType(argument));
+    }
+
+    private static CompletableFuture<Void> runClusterPipeline(LocalPlayer source, List<SpawnerInfo> spawners, String argument)
+    {
+        if (!validateSpawnerResults(source, spawners))
+            return CompletableFuture.completedFuture(null);
+
         BlockBank.markManualDataReady();
-        SpawnerCluster.SortType sortType = resolveSortType(argument);
-        List<SpawnerCluster> clusters = SpawnerCluster.findClusters(source, spawners, ACTIVATION_RADIUS, sortType);
-        persistClusterResults(clusters, sortType);
+        return updateClusters(source, spawners, resolveSortType(argument));
+    }
+
+    private static CompletableFuture<Void> updateClusters(LocalPlayer source, List<SpawnerInfo> spawners,
+                                                          SpawnerCluster.SortType sortType)
+    {
+        int generation = ClusterIndex.generation();
+        CompletableFuture<Void> update = clusterUpdate
+            .thenCompose(ignored -> ClusterIndex.updateAsync(spawners, ACTIVATION_RADIUS))
+            .thenAcceptAsync(delta ->
+            {
+                if (generation == ClusterIndex.generation())
+                    persistClusterResults(sortDelta(source, delta, sortType), sortType);
+            }, Minecraft.getInstance());
+
+        clusterUpdate = update.exceptionally(error ->
+        {
+            LOGGER.error("Cluster generation failed", error);
+            return null;
+        });
+        return update;
+    }
+
+    private static ClusterIndex.ClusterDelta sortDelta(LocalPlayer source, ClusterIndex.ClusterDelta delta,
+                                                       SpawnerCluster.SortType sortType)
+    {
+        List<SpawnerCluster> clusters = new ArrayList<>(delta.clusters());
+        SpawnerCluster.sortClusters(source, clusters, sortType);
+        return new ClusterIndex.ClusterDelta(clusters, delta.added(), delta.removedIds());
     }
 
     public static boolean toggleCluster(LocalPlayer source,
@@ -139,6 +197,7 @@ public class RadarClient implements ClientModInitializer
     {
         try
         {
+            ViewFrustum.update(context);
             Set<Integer> highlightedIds =
                 ClusterManager.getHighlightedClusterIds();
             renderHighlightedBlocks(context);
@@ -194,6 +253,8 @@ public class RadarClient implements ClientModInitializer
         LOGGER.info("GuideBookManager initialized.");
         ChunkProcessingManager.init();
         LOGGER.info("ChunkProcessingManager initialized.");
+        SpawnerDatabase.init();
+        LOGGER.info("SpawnerDatabase initialized.");
         ItemTextureRenderer.init();
         LOGGER.info("ItemTextureRenderer initialized.");
         SpawnerEfficiencyAdvisor.init();
@@ -236,8 +297,10 @@ public class RadarClient implements ClientModInitializer
         ClientPlayConnectionEvents.DISCONNECT.register((handler, client) ->
         {
             serverSupportsRadar = false;
+            BlockBank.cancelActiveScan();
             MobPuppetRenderer.clearCache();
             ChunkProcessingManager.clear();
+            SpawnerDatabase.close();
             resetWelcomeMessageState();
         });
     }
@@ -266,12 +329,14 @@ public class RadarClient implements ClientModInitializer
 
     private static void clearClientState()
     {
+        BlockBank.clear();
         ClusterManager.unhighlightAllClusters();
         ClusterManager.clearBackgroundHighlights();
         ClusterManager.getClusters().clear();
+        ClusterIndex.clear();
         BlockHighlightRenderer.clearRegionMeshCache();
         BoxOutlineRenderer.clearMeshCache();
-        BlockBank.clear();
+        resetHighlightBvh();
         VolumeHighlightManager.clear();
         SpawnerEfficiencyManager.clear();
         SpawnerMobCapStatusManager.clear();
@@ -300,12 +365,12 @@ public class RadarClient implements ClientModInitializer
         return config.defaultSortType;
     }
 
-    private static void persistClusterResults(List<SpawnerCluster> clusters,
+    private static void persistClusterResults(ClusterIndex.ClusterDelta delta,
                                               SpawnerCluster.SortType sortType)
     {
-        ClusterManager.setClusters(clusters);
-        BlockHighlightRenderer.clearRegionMeshCache();
-        BoxOutlineRenderer.clearMeshCache();
+        List<SpawnerCluster> clusters = delta.clusters();
+        ClusterManager.applyDelta(delta);
+        BlockHighlightRenderer.evictRegionMeshes(delta.removedIds());
         LOGGER.info(
             "Generated {} clusters using sort type {}",
             clusters.size(),
@@ -406,20 +471,37 @@ public class RadarClient implements ClientModInitializer
         float alpha = config.spawnerHighlightOpacity / 100f;
         float spawnVolumeAlpha = clamp01(config.spawnVolumeOpacity / 100f);
         float mobCapVolumeAlpha = clamp01(config.mobCapVolumeOpacity / 100f);
-        Set<BlockPos> highlightedPositions = new HashSet<>();
-        for (SpawnerInfo info : ClusterManager.getHighlights())
+        long revision = ClusterManager.getHighlightRevision();
+        if (
+            highlightBvh == null
+                || highlightBvhRevision != revision
+                || highlightBvhBackgroundEnabled != config.autoHighlightAlertedClusters
+        ) rebuildHighlightBvh(revision);
+        List<SpawnerInfo> highlights = cachedHighlights;
+        if (useOutline)
+            BoxOutlineRenderer.drawHighlights(
+                context,
+                revision,
+                highlights,
+                outlineColor,
+                alpha,
+                outlineThickness
+            );
+        else BlockHighlightRenderer.drawHighlights(
+            context,
+            revision,
+            highlights,
+            config.spawnerHighlightColor,
+            alpha
+        );
+        Set<BlockPos> highlightedPositions = cachedHighlightPositions;
+        visibleHighlights.clear();
+        highlightBvh.forEachVisible(ViewFrustum::isVisible, visibleHighlights::add);
+        for (SpawnerInfo info : visibleHighlights)
         {
             BlockPos pos = info.pos();
-            highlightedPositions.add(pos);
             if (useOutline)
             {
-                BoxOutlineRenderer.draw(
-                    context,
-                    pos,
-                    outlineColor,
-                    alpha,
-                    outlineThickness
-                );
                 boolean spawnEnabled =
                     VolumeHighlightManager.isSpawnVolumeEnabled(
                         pos,
@@ -458,12 +540,7 @@ public class RadarClient implements ClientModInitializer
                         mobCapThickness
                     );
                 }
-            } else BlockHighlightRenderer.draw(
-                context,
-                pos,
-                config.spawnerHighlightColor,
-                alpha
-            );
+            }
             renderLightLevelOverlay(context, info, defaultLightLevels);
             renderSpawnerLabel(context, info, defaultEfficiencyLabel, defaultMobCapStatus);
         }
@@ -473,6 +550,29 @@ public class RadarClient implements ClientModInitializer
         renderForcedMobCapStatusLabels(context, defaultEfficiencyLabel, defaultMobCapStatus, highlightedPositions);
     }
 
+    private static void rebuildHighlightBvh(long revision)
+    {
+        List<SpawnerInfo> highlights = ClusterManager.getHighlights();
+        Set<BlockPos> positions = new HashSet<>(highlights.size());
+        for (SpawnerInfo info : highlights)
+            positions.add(info.pos());
+
+        cachedHighlights = highlights;
+        cachedHighlightPositions = positions;
+        highlightBvh = SpawnerBvh.build(highlights, HIGHLIGHT_CULL_MARGIN);
+        highlightBvhRevision = revision;
+        highlightBvhBackgroundEnabled = config.autoHighlightAlertedClusters;
+        LOGGER.debug("Rebuilt highlight BVH over {} spawners.", highlightBvh.size());
+    }
+
+    private static void resetHighlightBvh()
+    {
+        visibleHighlights.clear();
+        cachedHighlights = List.of();
+        cachedHighlightPositions = Set.of();
+        highlightBvh = null;
+    }
+
     private void renderSpawnerLabel(WorldRenderContext context,
                                     SpawnerInfo info,
                                     boolean defaultEfficiencyLabel,
@@ -581,7 +681,7 @@ public class RadarClient implements ClientModInitializer
             if (spawnerCount < config.minimumSpawnersForRegion) continue;
 
             int clusterColor = ConfigManager.getClusterColor(spawnerCount);
-            List<BlockPos> region = cluster.intersectionRegion();
+            VoxelRegion region = cluster.intersectionRegion();
             BlockHighlightRenderer.fillRegionMesh(
                 context,
                 cluster.id(),
@@ -0,0 +1,219 @@
+package cc.hachem.spawnradar.collections;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+public final class LongHashSet
+{
+    private long[] keys;
+    private int mask;
+    private int size;
+    private int threshold;
+    private boolean containsZero;
+
+    public LongHashSet()
+    {
+        this(LongHashing.DEFAULT_CAPACITY);
+    }
+
+    public LongHashSet(int expected)
+    {
+        allocate(LongHashing.tableSize(expected));
+    }
+
+    public LongHashSet(LongHashSet other)
+    {
+        keys = other.keys.clone();
+        mask = other.mask;
+        size = other.size;
+        threshold = other.threshold;
+        containsZero = other.containsZero;
+    }
+
+    public boolean add(long key)
+    {
+        if (key == 0)
+        {
+            if (containsZero)
+                return false;
+            containsZero = true;
+            size++;
+            return true;
+        }
+
+        int slot = LongHashing.mix(key) & mask;
+        while (keys[slot] != 0)
+        {
+            if (keys[slot] == key)
+                return false;
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        if (++size > threshold)
+            rehash(keys.length << 1);
+        return true;
+    }
+
+    public boolean contains(long key)
+    {
+        if (key == 0)
+            return containsZero;
+
+        int slot = LongHashing.mix(key) & mask;
+        while (keys[slot] != 0)
+        {
+            if (keys[slot] == key)
+                return true;
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public boolean remove(long key)
+    {
+        if (key == 0)
+        {
+            if (!containsZero)
+                return false;
+            containsZero = false;
+            size--;
+            return true;
+        }
+
+        int slot = LongHashing.mix(key) & mask;
+        while (keys[slot] != 0)
+        {
+            if (keys[slot] == key)
+            {
+                shiftKeys(slot);
+                size--;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public boolean removeIf(LongPredicate filter)
+    {
+        long[] matches = new long[Math.min(size, 64)];
+        int count = 0;
+
+        if (containsZero && filter.test(0))
+            matches[count++] = 0;
+        for (long key : keys)
+        {
+            if (key == 0 || !filter.test(key))
+                continue;
+            if (count == matches.length)
+                matches = Arrays.copyOf(matches, matches.length << 1);
+            matches[count++] = key;
+        }
+
+        for (int i = 0; i < count; i++)
+            remove(matches[i]);
+        return count > 0;
+    }
+
+    public boolean intersects(LongHashSet other)
+    {
+        LongHashSet smaller = size <= other.size ? this : other;
+        LongHashSet larger = smaller == this ? other : this;
+
+        if (smaller.containsZero && larger.containsZero)
+            return true;
+        for (long key : smaller.keys)
+            if (key != 0 && larger.contains(key))
+                return true;
+        return false;
+    }
+
+    public void forEach(LongConsumer consumer)
+    {
+        if (containsZero)
+            consumer.accept(0);
+        for (long key : keys)
+            if (key != 0)
+                consumer.accept(key);
+    }
+
+    public long[] toArray()
+    {
+        long[] result = new long[size];
+        int index = 0;
+        if (containsZero)
+            result[index++] = 0;
+        for (long key : keys)
+            if (key != 0)
+                result[index++] = key;
+        return result;
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    public void clear()
+    {
+        if (size == 0)
+            return;
+        Arrays.fill(keys, 0);
+        containsZero = false;
+        size = 0;
+    }
+
+    private void shiftKeys(int slot)
+    {
+        int last = slot;
+        while (true)
+        {
+            slot = (last + 1) & mask;
+            long current;
+            while (true)
+            {
+                current = keys[slot];
+                if (current == 0)
+                {
+                    keys[last] = 0;
+                    return;
+                }
+                int home = LongHashing.mix(current) & mask;
+                if (last <= slot ? (last >= home || home > slot) : (last >= home && home > slot))
+                    break;
+                slot = (slot + 1) & mask;
+            }
+            keys[last] = current;
+            last = slot;
+        }
+    }
+
+    private void rehash(int newSize)
+    {
+        long[] old = keys;
+        allocate(newSize);
+        for (long key : old)
+        {
+            if (key == 0)
+                continue;
+            int slot = LongHashing.mix(key) & mask;
+            while (keys[slot] != 0)
+                slot = (slot + 1) & mask;
+            keys[slot] = key;
+        }
+    }
+
+    private void allocate(int tableSize)
+    {
+        keys = new long[tableSize];
+        mask = tableSize - 1;
+        threshold = LongHashing.threshold(tableSize);
+    }
+}
@@ -0,0 +1,28 @@
+package cc.hachem.spawnradar.collections;
+
+final class LongHashing
+{
+    static final int DEFAULT_CAPACITY = 16;
+    static final float LOAD_FACTOR = 0.75f;
+
+    private LongHashing() {}
+
+    static int mix(long value)
+    {
+        long h = value * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        return (int) (h ^ (h >>> 16));
+    }
+
+    static int tableSize(int expected)
+    {
+        int needed = (int) Math.ceil(Math.max(expected, DEFAULT_CAPACITY) / LOAD_FACTOR);
+        int size = Integer.highestOneBit(Math.max(2, needed - 1)) << 1;
+        return Math.max(2, size);
+    }
+
+    static int threshold(int tableSize)
+    {
+        return Math.min(tableSize - 1, (int) (tableSize * LOAD_FACTOR));
+    }
+}
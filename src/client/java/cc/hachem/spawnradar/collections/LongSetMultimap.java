@@ -0,0 +1,184 @@
+package cc.hachem.spawnradar.collections;
+
+import java.util.Arrays;
+
+public final class LongSetMultimap
+{
+    private long[] keys;
+    private LongHashSet[] values;
+    private int mask;
+    private int size;
+    private int threshold;
+    private LongHashSet zeroValue;
+
+    public LongSetMultimap()
+    {
+        allocate(LongHashing.tableSize(LongHashing.DEFAULT_CAPACITY));
+    }
+
+    public boolean put(long key, long value)
+    {
+        LongHashSet set = get(key);
+        if (set == null)
+        {
+            set = new LongHashSet(4);
+            putSet(key, set);
+        }
+        return set.add(value);
+    }
+
+    public void putAll(long key, LongHashSet set)
+    {
+        if (set == null || set.isEmpty())
+        {
+            removeAll(key);
+            return;
+        }
+        putSet(key, set);
+    }
+
+    public LongHashSet get(long key)
+    {
+        if (key == 0)
+            return zeroValue;
+
+        int slot = LongHashing.mix(key) & mask;
+        while (values[slot] != null)
+        {
+            if (keys[slot] == key)
+                return values[slot];
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    public boolean containsKey(long key)
+    {
+        return get(key) != null;
+    }
+
+    public LongHashSet removeAll(long key)
+    {
+        if (key == 0)
+        {
+            LongHashSet removed = zeroValue;
+            if (removed != null)
+            {
+                zeroValue = null;
+                size--;
+            }
+            return removed;
+        }
+
+        int slot = LongHashing.mix(key) & mask;
+        while (values[slot] != null)
+        {
+            if (keys[slot] == key)
+            {
+                LongHashSet removed = values[slot];
+                shiftEntries(slot);
+                size--;
+                return removed;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    public void clear()
+    {
+        if (size == 0)
+            return;
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+        zeroValue = null;
+        size = 0;
+    }
+
+    private void putSet(long key, LongHashSet set)
+    {
+        if (key == 0)
+        {
+            if (zeroValue == null)
+                size++;
+            zeroValue = set;
+            return;
+        }
+
+        int slot = LongHashing.mix(key) & mask;
+        while (values[slot] != null)
+        {
+            if (keys[slot] == key)
+            {
+                values[slot] = set;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = set;
+        if (++size > threshold)
+            rehash(keys.length << 1);
+    }
+
+    private void shiftEntries(int slot)
+    {
+        int last = slot;
+        while (true)
+        {
+            slot = (last + 1) & mask;
+            while (true)
+            {
+                if (values[slot] == null)
+                {
+                    keys[last] = 0;
+                    values[last] = null;
+                    return;
+                }
+                int home = LongHashing.mix(keys[slot]) & mask;
+                if (last <= slot ? (last >= home || home > slot) : (last >= home && home > slot))
+                    break;
+                slot = (slot + 1) & mask;
+            }
+            keys[last] = keys[slot];
+            values[last] = values[slot];
+            last = slot;
+        }
+    }
+
+    private void rehash(int newSize)
+    {
+        long[] oldKeys = keys;
+        LongHashSet[] oldValues = values;
+        allocate(newSize);
+        for (int i = 0; i < oldKeys.length; i++)
+        {
+            if (oldValues[i] == null)
+                continue;
+            int slot = LongHashing.mix(oldKeys[i]) & mask;
+            while (values[slot] != null)
+                slot = (slot + 1) & mask;
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int tableSize)
+    {
+        keys = new long[tableSize];
+        values = new LongHashSet[tableSize];
+        mask = tableSize - 1;
+        threshold = LongHashing.threshold(tableSize);
+    }
+}
@@ -1,6 +1,7 @@
 package cc.hachem.spawnradar.config;
 
 import cc.hachem.spawnradar.RadarClient;
+import cc.hachem.spawnradar.core.ChunkScanner;
 import cc.hachem.spawnradar.core.SpawnerCluster;
 
 import java.util.ArrayList;
@@ -17,6 +18,8 @@ public class ConfigManager
     );
 
     public static final ConfigManager DEFAULT = new ConfigManager();
+    public static final int MAX_SCAN_THREADS = 32;
+    public static final int MAX_RENDER_DISTANCE = 512;
 
     public enum SortOrder
     {
@@ -61,7 +64,9 @@ public class ConfigManager
     public int spawnerHighlightColor = 0xFFFFFF;
     public int minimumSpawnersForRegion = 1;
     public int defaultSearchRadius = 64;
-    public int scanThreadCount = 4;
+    public int scanThreadCount = 0;
+    public int clusterThreadCount = 4;
+    public ChunkScanner.ScanMode scanMode = ChunkScanner.ScanMode.BLOCK_ENTITIES;
 
     public int spawnerHighlightOpacity = 50;
     public int regionHighlightOpacity = 30;
@@ -81,6 +86,7 @@ public class ConfigManager
 
     public boolean highlightAfterScan = false;
     public boolean frustumCullingEnabled = true;
+    public int maxRenderDistance = 0;
     public Boolean showWelcomeMessage = true;
 
     public double verticalPanelOffset = 0.1;
@@ -88,10 +94,13 @@ public class ConfigManager
     public HudHorizontalAlignment panelHorizontalAlignment = HudHorizontalAlignment.LEFT;
     public SpawnerIconMode spawnerIconMode = SpawnerIconMode.MOB_PUPPET;
     public boolean useCachedSpawnersForScan = true;
+    public boolean streamScanResults = true;
+    public boolean persistSpawnerDatabase = true;
     public boolean autoHighlightAlertedClusters = false;
     public boolean processChunksOnGeneration = true;
     public int backgroundClusterAlertThreshold = 4;
     public int backgroundClusterProximity = 0;
+    public int chunkProcessingBudgetMs = 2;
 
     public List<Integer> clusterColors = defaultClusterColors();
 
@@ -100,8 +109,11 @@ public class ConfigManager
         ensureColorPalette();
         ensureHudAlignment();
         ensureScanThreadCount();
+        ensureClusterThreadCount();
+        ensureScanMode();
         ensureSpawnerIconMode();
         ensureBackgroundProcessing();
+        ensureMaxRenderDistance();
 
         if (showWelcomeMessage == null)
             showWelcomeMessage = DEFAULT.showWelcomeMessage;
@@ -176,20 +188,41 @@ public class ConfigManager
             spawnerIconMode = DEFAULT.spawnerIconMode;
     }
 
+    public void ensureScanMode()
+    {
+        if (scanMode == null)
+            scanMode = DEFAULT.scanMode;
+    }
+
     public void ensureBackgroundProcessing()
     {
         backgroundClusterAlertThreshold =
             Math.max(2, backgroundClusterAlertThreshold);
         backgroundClusterProximity =
             Math.max(8, backgroundClusterProximity);
+        chunkProcessingBudgetMs =
+            Math.max(1, Math.min(50, chunkProcessingBudgetMs));
+    }
+
+    public void ensureMaxRenderDistance()
+    {
+        maxRenderDistance = Math.max(0, Math.min(MAX_RENDER_DISTANCE, maxRenderDistance));
     }
 
     public void ensureScanThreadCount()
     {
-        int clamped = Math.max(1, Math.min(16, scanThreadCount));
-        if (clamped != 1 && (clamped & 1) != 0)
-            clamped = Math.min(16, clamped + 1);
+        scanThreadCount = Math.max(0, Math.min(MAX_SCAN_THREADS, scanThreadCount));
+    }
 
-        scanThreadCount = clamped;
+    public int resolveScanThreadCount()
+    {
+        if (scanThreadCount > 0)
+            return Math.min(MAX_SCAN_THREADS, scanThreadCount);
+        return Math.max(1, Math.min(MAX_SCAN_THREADS, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    public void ensureClusterThreadCount()
+    {
+        clusterThreadCount = Math.max(1, Math.min(16, clusterThreadCount));
     }
 }
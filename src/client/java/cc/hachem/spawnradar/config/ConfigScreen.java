@@ -2,6 +2,7 @@ package cc.hachem.spawnradar.config;
 
 import cc.hachem.spawnradar.RadarClient;
 import cc.hachem.spawnradar.core.ChunkProcessingManager;
+import cc.hachem.spawnradar.core.ChunkScanner;
 import cc.hachem.spawnradar.core.ClusterManager;
 import cc.hachem.spawnradar.core.SpawnerCluster;
 import cc.hachem.spawnradar.hud.HudRenderer;
@@ -57,17 +58,43 @@ public class ConfigScreen
         scanning.addEntry(entries.startIntSlider(
                 text("option.spawn_radar.scan_thread_count"),
                 config.scanThreadCount,
-                1, 16)
-            .setTextGetter(value -> Component.nullToEmpty(String.valueOf(normalizeThreadCountInput(value))))
+                0, ConfigManager.MAX_SCAN_THREADS)
+            .setTextGetter(value -> value == 0
+                ? Component.translatable("option.spawn_radar.scan_thread_count.auto", ConfigManager.DEFAULT.resolveScanThreadCount())
+                : Component.nullToEmpty(String.valueOf(value)))
             .setSaveConsumer(value ->
             {
-                config.scanThreadCount = normalizeThreadCountInput(value);
+                config.scanThreadCount = value;
                 config.ensureScanThreadCount();
             })
             .setDefaultValue(ConfigManager.DEFAULT.scanThreadCount)
             .setTooltip(text("option.spawn_radar.scan_thread_count.tooltip"))
             .build());
 
+        scanning.addEntry(entries.startIntSlider(
+                text("option.spawn_radar.cluster_thread_count"),
+                config.clusterThreadCount,
+                1, 16)
+            .setSaveConsumer(value ->
+            {
+                config.clusterThreadCount = value;
+                config.ensureClusterThreadCount();
+            })
+            .setDefaultValue(ConfigManager.DEFAULT.clusterThreadCount)
+            .setTooltip(text("option.spawn_radar.cluster_thread_count.tooltip"))
+            .build());
+
+        scanning.addEntry(entries
+            .startEnumSelector(
+                text("option.spawn_radar.scan_mode"),
+                ChunkScanner.ScanMode.class,
+                config.scanMode)
+            .setEnumNameProvider(e -> Component.translatable(e.toString()))
+            .setDefaultValue(ConfigManager.DEFAULT.scanMode)
+            .setSaveConsumer(value -> config.scanMode = value == null ? ConfigManager.DEFAULT.scanMode : value)
+            .setTooltip(text("option.spawn_radar.scan_mode.tooltip"))
+            .build());
+
         scanning.addEntry(entries.startIntField(
                 text("option.spawn_radar.min_spawners"),
                 config.minimumSpawnersForRegion)
@@ -117,6 +144,18 @@ public class ConfigScreen
             .setTooltip(text("option.spawn_radar.frustum_culling.tooltip"))
             .build());
 
+        scanning.addEntry(entries.startIntSlider(
+                text("option.spawn_radar.max_render_distance"),
+                config.maxRenderDistance,
+                0, ConfigManager.MAX_RENDER_DISTANCE)
+            .setTextGetter(value -> value == 0
+                ? text("option.spawn_radar.max_render_distance.unlimited")
+                : Component.translatable("option.spawn_radar.max_render_distance.value", value))
+            .setSaveConsumer(value -> config.maxRenderDistance = value)
+            .setDefaultValue(ConfigManager.DEFAULT.maxRenderDistance)
+            .setTooltip(text("option.spawn_radar.max_render_distance.tooltip"))
+            .build());
+
     }
 
     private static void addRenderingEntries(ConfigCategory rendering, ConfigEntryBuilder entries)
@@ -286,6 +325,22 @@ public class ConfigScreen
             .setTooltip(text("option.spawn_radar.use_cached_spawners.tooltip"))
             .build());
 
+        general.addEntry(entries.startBooleanToggle(
+                text("option.spawn_radar.stream_scan_results"),
+                config.streamScanResults)
+            .setSaveConsumer(value -> config.streamScanResults = value)
+            .setDefaultValue(ConfigManager.DEFAULT.streamScanResults)
+            .setTooltip(text("option.spawn_radar.stream_scan_results.tooltip"))
+            .build());
+
+        general.addEntry(entries.startBooleanToggle(
+                text("option.spawn_radar.persist_spawner_database"),
+                config.persistSpawnerDatabase)
+            .setSaveConsumer(value -> config.persistSpawnerDatabase = value)
+            .setDefaultValue(ConfigManager.DEFAULT.persistSpawnerDatabase)
+            .setTooltip(text("option.spawn_radar.persist_spawner_database.tooltip"))
+            .build());
+
         general.addEntry(entries.startBooleanToggle(
                 text("option.spawn_radar.background_processing"),
                 config.processChunksOnGeneration)
@@ -319,6 +374,17 @@ public class ConfigScreen
             .setTextGetter(value -> Component.translatable("option.spawn_radar.background_proximity.value", value))
             .setTooltip(text("option.spawn_radar.background_proximity.tooltip"))
             .build());
+
+        general.addEntry(entries.startIntSlider(
+                text("option.spawn_radar.chunk_processing_budget"),
+                Math.max(1, Math.min(50, config.chunkProcessingBudgetMs)),
+                1,
+                50)
+            .setSaveConsumer(value -> config.chunkProcessingBudgetMs = value)
+            .setDefaultValue(ConfigManager.DEFAULT.chunkProcessingBudgetMs)
+            .setTextGetter(value -> Component.translatable("option.spawn_radar.chunk_processing_budget.value", value))
+            .setTooltip(text("option.spawn_radar.chunk_processing_budget.tooltip"))
+            .build());
     }
 
     private static void addColorEntries(ConfigCategory colors, ConfigEntryBuilder entries)
@@ -441,12 +507,4 @@ public class ConfigScreen
         String suffix = isLastSlot ? "_plus" : "";
         return "option.spawn_radar.cluster_" + (index + 1) + suffix;
     }
-
-    private static int normalizeThreadCountInput(int value)
-    {
-        int normalized = Math.max(1, Math.min(16, value));
-        if (normalized == 1)
-            return 1;
-        return (normalized & 1) == 0 ? normalized : Math.min(16, normalized + 1);
-    }
 }
@@ -1,99 +1,196 @@
 package cc.hachem.spawnradar.core;
 
 import cc.hachem.spawnradar.RadarClient;
+import cc.hachem.spawnradar.collections.LongHashSet;
 import cc.hachem.spawnradar.config.ConfigManager;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.player.LocalPlayer;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.chat.Component;
-import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.entity.SpawnerBlockEntity;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.status.ChunkStatus;
 
 public class BlockBank
 {
-    private static final List<SpawnerInfo> SPAWNERS = new CopyOnWriteArrayList<>();
+    private static final SpawnerStore SPAWNERS = new SpawnerStore();
+    private static final AtomicReference<ScanJob> ACTIVE_SCAN = new AtomicReference<>();
+    private static final AtomicInteger REVISION = new AtomicInteger();
+    private static final long PARTIAL_UPDATE_INTERVAL_NANOS = 250_000_000L;
     private static volatile boolean manualDataReady = false;
 
     private BlockBank() {}
 
-    public static void scanForSpawners(LocalPlayer player, int chunkRadius, Runnable callback)
+    public static ScanJob scanForSpawners(LocalPlayer player, int chunkRadius, Supplier<CompletableFuture<?>> callback)
+    {
+        return scanForSpawners(player, chunkRadius, callback, null);
+    }
+
+    public static ScanJob scanForSpawners(LocalPlayer player, int chunkRadius, Supplier<CompletableFuture<?>> callback,
+                                          Runnable partialCallback)
     {
-        RadarClient.reset(player);
         player.displayClientMessage(Component.translatable("chat.spawn_radar.searching"), false);
 
-        new Thread(() -> performScan(player, chunkRadius, callback)).start();
+        ScanJob job = new ScanJob();
+        ScanJob previous = ACTIVE_SCAN.getAndSet(job);
+        if (previous != null && previous.cancel())
+            RadarClient.LOGGER.debug("Superseded running spawner scan.");
+        SpawnerMobResolver.clear();
+
+        performScan(job, player, chunkRadius, callback, resolveStreaming() ? partialCallback : null);
+        return job;
+    }
+
+    public static ScanJob getActiveScan()
+    {
+        return ACTIVE_SCAN.get();
+    }
+
+    public static void cancelActiveScan()
+    {
+        ScanJob job = ACTIVE_SCAN.getAndSet(null);
+        if (job != null && job.cancel())
+            RadarClient.LOGGER.info("Cancelled running spawner scan.");
     }
 
-    private static void performScan(LocalPlayer player, int chunkRadius, Runnable callback)
+    private static void performScan(ScanJob job, LocalPlayer player, int chunkRadius,
+                                    Supplier<CompletableFuture<?>> callback, Runnable partialCallback)
     {
         long startTime = System.currentTimeMillis();
         BlockPos playerPos = player.blockPosition();
         int playerChunkX = playerPos.getX() >> 4;
         int playerChunkZ = playerPos.getZ() >> 4;
+        Level world = player.level();
 
+        ChunkScanner.ScanMode mode = resolveScanMode();
+        ScanTimingHistogram timings = new ScanTimingHistogram();
         List<SpawnerInfo> foundSpawners = Collections.synchronizedList(new ArrayList<>());
-        List<Thread> workers = startWorkers(player, chunkRadius, playerChunkX, playerChunkZ, foundSpawners);
+        List<ChunkOffset> offsets = buildChunkOffsets(chunkRadius);
+        OrderedScanResults results = new OrderedScanResults(offsets.size());
+        job.setChunksTotal(offsets.size());
 
-        waitForWorkers(workers);
+        ScanExecutor.forEachInOrder(offsets, (offset, index) ->
+            {
+                List<SpawnerInfo> found = scanChunk(job, world, playerChunkX + offset.dx(), playerChunkZ + offset.dz(), mode, timings);
+                int published = results.complete(index, found, info -> publishSpawner(job, info, foundSpawners));
+                job.onChunkScanned();
+                if (published > 0 && partialCallback != null)
+                    schedulePartialUpdate(job, partialCallback);
+            }, job::isCancelled)
+            .whenComplete((ignored, error) ->
+            {
+                if (error != null)
+                {
+                    RadarClient.LOGGER.error("Spawner scan failed", error);
+                    job.fail(error);
+                    ACTIVE_SCAN.compareAndSet(job, null);
+                    return;
+                }
+                completeScan(job, player, callback, foundSpawners, mode, timings, startTime);
+            });
+    }
 
-        int spawnersFound = foundSpawners.size();
+    private static void completeScan(ScanJob job, LocalPlayer player, Supplier<CompletableFuture<?>> callback,
+                                     List<SpawnerInfo> foundSpawners,
+                                     ChunkScanner.ScanMode mode, ScanTimingHistogram timings, long startTime)
+    {
         long elapsed = System.currentTimeMillis() - startTime;
-        RadarClient.LOGGER.info("Spawner scan completed in {} ms. Found {} spawners.", elapsed, spawnersFound);
+        if (!job.beginClustering())
+        {
+            RadarClient.LOGGER.info("Spawner scan cancelled after {} ms ({} chunks scanned).",
+                elapsed, job.progress().chunksScanned());
+            return;
+        }
 
-        Minecraft.getInstance().execute(() -> notifyPlayer(player, callback, spawnersFound));
+        List<SpawnerInfo> spawners = List.copyOf(foundSpawners);
+        RadarClient.LOGGER.info("Spawner scan completed in {} ms. Found {} spawners.", elapsed, spawners.size());
+        RadarClient.LOGGER.info("Per-chunk scan timings ({} mode, {} chunks, {} us total): {}",
+            mode.name(), timings.count(), timings.totalMicros(), timings.format());
+
+        Minecraft.getInstance().execute(() -> finishScan(job, player, callback, spawners));
     }
 
-    private static List<Thread> startWorkers(LocalPlayer player, int chunkRadius,
-                                             int playerChunkX, int playerChunkZ,
-                                             List<SpawnerInfo> foundSpawners)
+    private static void publishSpawner(ScanJob job, SpawnerInfo info, List<SpawnerInfo> foundSpawners)
     {
-        List<ChunkOffset> offsets = buildChunkOffsets(chunkRadius);
-        int workerCount = resolveThreadCount(offsets.size());
-        List<List<ChunkOffset>> batches = partitionOffsets(offsets, workerCount);
+        job.runIfActive(() ->
+        {
+            foundSpawners.add(info);
+            BlockBank.add(info);
+            job.onSpawnerFound();
+        });
+    }
+
+    private static void schedulePartialUpdate(ScanJob job, Runnable partialCallback)
+    {
+        if (!job.claimPartialUpdate(PARTIAL_UPDATE_INTERVAL_NANOS))
+            return;
 
-        List<Thread> workers = new ArrayList<>();
-        for (int i = 0; i < batches.size(); i++)
+        Minecraft.getInstance().execute(() ->
         {
-            List<ChunkOffset> batch = batches.get(i);
-            if (batch.isEmpty())
-                continue;
-            Thread thread = new Thread(() ->
-                scanChunkBatch(player, batch, playerChunkX, playerChunkZ, foundSpawners),
-                "SpawnerScanner-" + i);
-            workers.add(thread);
-            thread.start();
-        }
-        RadarClient.LOGGER.debug("Spawned {} scan workers (requested {}) for {} chunk offsets.",
-            workers.size(), workerCount, offsets.size());
-        return workers;
+            job.releasePartialUpdate();
+            if (job.phase() == ScanJob.Phase.SCANNING)
+                partialCallback.run();
+        });
     }
 
-    private static void waitForWorkers(List<Thread> workers)
+    private static void finishScan(ScanJob job, LocalPlayer player, Supplier<CompletableFuture<?>> callback,
+                                   List<SpawnerInfo> spawners)
     {
-        for (Thread thread : workers)
+        if (job.isCancelled())
+            return;
+
+        retainScanResults(spawners);
+        CompletableFuture<?> clustering;
+        try
         {
-            try
-            {
-                thread.join();
-            }
-            catch (InterruptedException e)
-            {
-                RadarClient.LOGGER.error("Spawner scan thread interrupted", e);
-                Thread.currentThread().interrupt();
-            }
+            clustering = notifyPlayer(player, callback, spawners.size());
+        }
+        catch (RuntimeException e)
+        {
+            job.fail(e);
+            ACTIVE_SCAN.compareAndSet(job, null);
+            throw e;
         }
+
+        clustering.whenComplete((ignored, error) ->
+        {
+            if (error != null)
+                job.fail(error);
+            else
+                job.complete(spawners);
+            ACTIVE_SCAN.compareAndSet(job, null);
+        });
     }
 
-    private static void notifyPlayer(LocalPlayer player, Runnable callback, int spawnersFound)
+    private static void retainScanResults(List<SpawnerInfo> found)
+    {
+        LongHashSet kept = new LongHashSet(found.size());
+        for (SpawnerInfo info : found)
+            kept.add(info.pos().asLong());
+
+        int removed = SPAWNERS.removeIf(info ->
+            !kept.contains(info.pos().asLong()) && !ChunkProcessingManager.isTracked(info.pos()));
+        if (removed == 0)
+            return;
+
+        REVISION.incrementAndGet();
+        RadarClient.LOGGER.debug("Dropped {} spawners missing from the new scan.", removed);
+    }
+
+    private static CompletableFuture<?> notifyPlayer(LocalPlayer player, Supplier<CompletableFuture<?>> callback,
+                                                     int spawnersFound)
     {
         markManualDataReady();
         if (spawnersFound == 0)
@@ -101,19 +198,7 @@ public class BlockBank
         else
             player.displayClientMessage(Component.translatable("chat.spawn_radar.found", spawnersFound), false);
 
-        if (callback != null)
-            callback.run();
-    }
-
-    private static void scanChunkBatch(LocalPlayer player, List<ChunkOffset> offsets,
-                                       int playerChunkX, int playerChunkZ,
-                                       List<SpawnerInfo> foundSpawners)
-    {
-        var world = player.level();
-        RadarClient.LOGGER.debug("{} scanning {} chunk offsets.", Thread.currentThread().getName(), offsets.size());
-        for (ChunkOffset offset : offsets)
-            scanChunk(world, playerChunkX + offset.dx(), playerChunkZ + offset.dz(), foundSpawners);
-        RadarClient.LOGGER.debug("{} finished scanning.", Thread.currentThread().getName());
+        return callback != null ? callback.get() : CompletableFuture.completedFuture(null);
     }
 
     private static List<ChunkOffset> buildChunkOffsets(int chunkRadius)
@@ -128,70 +213,37 @@ public class BlockBank
         return chunkOffsets;
     }
 
-    private static List<List<ChunkOffset>> partitionOffsets(List<ChunkOffset> offsets, int partitions)
+    private static List<SpawnerInfo> scanChunk(ScanJob job, Level world, int chunkX, int chunkZ,
+                                               ChunkScanner.ScanMode mode, ScanTimingHistogram timings)
     {
-        List<List<ChunkOffset>> batches = new ArrayList<>(partitions);
-        if (partitions == 0)
-        {
-            batches.add(offsets);
-            return batches;
-        }
+        if (!(world.getChunkSource().getChunk(chunkX, chunkZ, ChunkStatus.FULL, false) instanceof LevelChunk chunk))
+            return List.of();
 
-        int batchSize = (int) Math.ceil((double) offsets.size() / partitions);
-        for (int i = 0; i < partitions; i++)
+        long start = System.nanoTime();
+        List<SpawnerInfo> found = new ArrayList<>();
+        ChunkScanner.scan(chunk, mode, pos ->
         {
-            int start = i * batchSize;
-            int end = Math.min(offsets.size(), start + batchSize);
-            if (start >= end)
-                batches.add(Collections.emptyList());
-            else
-                batches.add(new ArrayList<>(offsets.subList(start, end)));
-        }
-        return batches;
-    }
-
-    private static void scanChunk(Level world, int chunkX, int chunkZ, List<SpawnerInfo> foundSpawners)
-    {
-        if (!world.hasChunk(chunkX, chunkZ))
-            return;
-
-        int baseX = chunkX << 4;
-        int baseZ = chunkZ << 4;
-
-        int minY = world.getMinY();
-        int maxY = world.getHeight();
-
-        for (int y = minY; y < maxY; y++)
-            for (int x = 0; x < 16; x++)
-                for (int z = 0; z < 16; z++)
-                {
-                    BlockPos pos = new BlockPos(baseX + x, y, baseZ + z);
-                    if (world.getBlockState(pos).is(Blocks.SPAWNER))
-                    {
-                        SpawnerInfo info = createSpawnerInfo(world, pos);
-                        foundSpawners.add(info);
-                        BlockBank.add(info);
-                        RadarClient.LOGGER.trace("Found {} spawner at {}", info.mobName(), pos);
-                    }
-                }
+            if (job.isCancelled())
+                return;
+            SpawnerInfo info = createSpawnerInfo(world, pos);
+            found.add(info);
+            RadarClient.LOGGER.trace("Found {} spawner at {}", info.mobName(), pos);
+        });
+        timings.record(System.nanoTime() - start);
+        if (!job.isCancelled())
+            SpawnerDatabase.record(world, ChunkPos.asLong(chunkX, chunkZ), found);
+        return found;
     }
 
-    private static int resolveThreadCount(int workSize)
+    private static boolean resolveStreaming()
     {
-        int configured = RadarClient.config != null ? RadarClient.config.scanThreadCount : ConfigManager.DEFAULT.scanThreadCount;
-        if (configured <= 1 || workSize <= 1)
-            return 1;
-
-        int desired = ensureEven(Math.min(16, configured));
-        int limited = Math.min(desired, workSize);
-        if ((limited & 1) != 0)
-            limited = Math.max(2, limited - 1);
-        return Math.max(2, limited);
+        return RadarClient.config != null ? RadarClient.config.streamScanResults : ConfigManager.DEFAULT.streamScanResults;
     }
 
-    private static int ensureEven(int value)
+    private static ChunkScanner.ScanMode resolveScanMode()
     {
-        return (value & 1) == 0 ? value : value + 1;
+        ChunkScanner.ScanMode mode = RadarClient.config != null ? RadarClient.config.scanMode : null;
+        return mode != null ? mode : ConfigManager.DEFAULT.scanMode;
     }
 
     private record ChunkOffset(int dx, int dz)
@@ -204,43 +256,48 @@ public class BlockBank
 
     public static void add(SpawnerInfo info)
     {
-        int index = indexOf(info.pos());
-        if (index >= 0)
-            SPAWNERS.set(index, info);
-        else
-            SPAWNERS.add(info);
+        SPAWNERS.put(info);
+        REVISION.incrementAndGet();
         RadarClient.LOGGER.trace("Added {} spawner to highlight list: {}", info.mobName(), info.pos());
     }
 
     public static void clear()
+    {
+        ScanJob job = ACTIVE_SCAN.getAndSet(null);
+        if (job == null)
+            clearSpawners();
+        else if (job.cancelAndRun(BlockBank::clearSpawners))
+            RadarClient.LOGGER.info("Cancelled running spawner scan.");
+    }
+
+    private static void clearSpawners()
     {
         int count = SPAWNERS.size();
         SPAWNERS.clear();
+        SpawnerMobResolver.clear();
         RadarClient.LOGGER.debug("Cleared {} highlighted spawners.", count);
         manualDataReady = false;
+        REVISION.incrementAndGet();
+    }
+
+    public static int getRevision()
+    {
+        return REVISION.get();
     }
 
     public static List<SpawnerInfo> getAll()
     {
-        return Collections.unmodifiableList(SPAWNERS);
+        return SPAWNERS.snapshot();
     }
 
     public static SpawnerInfo get(BlockPos pos)
     {
-        for (SpawnerInfo info : SPAWNERS)
-            if (info.pos().equals(pos))
-                return info;
-        return null;
+        return SPAWNERS.get(pos.asLong());
     }
 
-    private static int indexOf(BlockPos pos)
+    public static SpawnerInfo get(long packedPos)
     {
-        for (int i = 0; i < SPAWNERS.size(); i++)
-        {
-            if (SPAWNERS.get(i).pos().equals(pos))
-                return i;
-        }
-        return -1;
+        return SPAWNERS.get(packedPos);
     }
 
     public static SpawnerInfo createSpawnerInfo(Level world, BlockPos pos)
@@ -250,7 +307,7 @@ public class BlockBank
         {
             var blockEntity = world.getBlockEntity(pos);
             if (blockEntity instanceof SpawnerBlockEntity mobSpawner)
-                entityType = resolveSpawnerEntityType(world, pos, mobSpawner);
+                entityType = SpawnerMobResolver.resolve(world, pos, mobSpawner);
         }
         catch (Exception e)
         {
@@ -263,17 +320,32 @@ public class BlockBank
     {
         if (positions == null || positions.isEmpty())
             return;
-        SPAWNERS.removeIf(info -> positions.contains(info.pos()));
+        for (BlockPos pos : positions)
+        {
+            SPAWNERS.remove(pos.asLong());
+            SpawnerMobResolver.invalidate(pos);
+        }
+        REVISION.incrementAndGet();
+    }
+
+    public static List<SpawnerInfo> removeChunk(long chunkKey)
+    {
+        SpawnerMobResolver.invalidateChunk(chunkKey);
+        List<SpawnerInfo> removed = SPAWNERS.removeChunk(chunkKey);
+        if (!removed.isEmpty())
+            REVISION.incrementAndGet();
+        return removed;
     }
 
     public static boolean hasCachedSpawners()
     {
-        return !SPAWNERS.isEmpty();
+        return !SPAWNERS.isEmpty() || SpawnerDatabase.hasEntries();
     }
 
     public static void markManualDataReady()
     {
         manualDataReady = true;
+        REVISION.incrementAndGet();
     }
 
     public static boolean hasManualResults()
@@ -283,29 +355,22 @@ public class BlockBank
 
     public static List<SpawnerInfo> getWithinChunkRadius(BlockPos center, int chunkRadius)
     {
-        List<SpawnerInfo> result = new ArrayList<>();
         int half = Math.max(0, chunkRadius / 2);
         int centerChunkX = center.getX() >> 4;
         int centerChunkZ = center.getZ() >> 4;
-        int minChunkX = centerChunkX - half;
-        int maxChunkX = centerChunkX + half;
-        int minChunkZ = centerChunkZ - half;
-        int maxChunkZ = centerChunkZ + half;
-
-        for (SpawnerInfo info : SPAWNERS)
-        {
-            BlockPos pos = info.pos();
-            int chunkX = pos.getX() >> 4;
-            int chunkZ = pos.getZ() >> 4;
-            if (chunkX >= minChunkX && chunkX <= maxChunkX && chunkZ >= minChunkZ && chunkZ <= maxChunkZ)
-                result.add(info);
-        }
-        return result;
+        List<SpawnerInfo> live = SPAWNERS.getWithinChunks(centerChunkX - half, centerChunkX + half,
+                                                          centerChunkZ - half, centerChunkZ + half);
+
+        LongHashSet liveChunks = new LongHashSet(live.size());
+        for (SpawnerInfo info : live)
+            liveChunks.add(ChunkPos.asLong(info.pos()));
+        List<SpawnerInfo> merged = new ArrayList<>(live);
+        merged.addAll(SpawnerDatabase.getWithinChunkRadius(center, chunkRadius, liveChunks));
+        return merged;
     }
 
-    private static EntityType<?> resolveSpawnerEntityType(Level world, BlockPos pos, SpawnerBlockEntity mobSpawner)
+    public static List<SpawnerInfo> getNearby(BlockPos center, int radius)
     {
-        Entity renderedEntity = mobSpawner.getSpawner().getOrCreateDisplayEntity(world, pos);
-        return renderedEntity != null ? renderedEntity.getType() : null;
+        return SPAWNERS.getNearby(center, Math.max(1, radius));
     }
 }
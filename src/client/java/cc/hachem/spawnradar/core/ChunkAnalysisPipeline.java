@@ -0,0 +1,186 @@
+package cc.hachem.spawnradar.core;
+
+import cc.hachem.spawnradar.RadarClient;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.core.BlockPos;
+
+public final class ChunkAnalysisPipeline
+{
+    public record SpawnerEntry(BlockPos pos, String entityId) {}
+
+    public record ChunkSnapshot(ClientLevel world, long chunkKey, List<SpawnerEntry> spawners, long fingerprint) {}
+
+    public record ChunkAnalysis(long chunkKey, List<SpawnerInfo> spawners, List<SpawnerCluster> alertCandidates) {}
+
+    private record Completed(long sequence, int epoch, ChunkSnapshot snapshot, ChunkAnalysis analysis) {}
+
+    private record Job(long sequence, int epoch, ChunkSnapshot snapshot) {}
+
+    private static final int MAX_IN_FLIGHT = 32;
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final Function<ChunkSnapshot, ChunkAnalysis> analyzer;
+    private final Consumer<ChunkAnalysis> publisher;
+    private final Map<Long, Job> backlog = new LinkedHashMap<>();
+    private final PriorityBlockingQueue<Completed> completed =
+        new PriorityBlockingQueue<>(16, Comparator.comparingLong(Completed::sequence));
+    private final Map<Long, Long> pendingSequences = new HashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private ExecutorService executor;
+    private long nextSequence = 0;
+    private long nextToPublish = 0;
+    private volatile int epoch = 0;
+
+    public ChunkAnalysisPipeline(Function<ChunkSnapshot, ChunkAnalysis> analyzer, Consumer<ChunkAnalysis> publisher)
+    {
+        this.analyzer = analyzer;
+        this.publisher = publisher;
+    }
+
+    public void submit(ChunkSnapshot snapshot)
+    {
+        long chunkKey = snapshot.chunkKey();
+        Job queued = backlog.get(chunkKey);
+        long sequence = queued != null ? queued.sequence() : nextSequence++;
+        backlog.put(chunkKey, new Job(sequence, epoch, snapshot));
+        pendingSequences.put(chunkKey, sequence);
+        dispatch();
+    }
+
+    public void cancel(long chunkKey)
+    {
+        pendingSequences.remove(chunkKey);
+        Job queued = backlog.remove(chunkKey);
+        if (queued != null)
+            completed.add(new Completed(queued.sequence(), queued.epoch(), queued.snapshot(), null));
+    }
+
+    public void drain(ClientLevel currentWorld, long budgetNanos)
+    {
+        dispatch();
+
+        long deadline = System.nanoTime() + budgetNanos;
+        int published = 0;
+        while (true)
+        {
+            Completed head = completed.peek();
+            if (head == null)
+                break;
+            if (head.sequence() < nextToPublish)
+            {
+                completed.poll();
+                continue;
+            }
+            if (head.sequence() != nextToPublish)
+                break;
+            if (published > 0 && System.nanoTime() >= deadline)
+                break;
+
+            completed.poll();
+            nextToPublish++;
+            if (claim(head) && isCurrent(head, currentWorld))
+            {
+                publisher.accept(head.analysis());
+                published++;
+            }
+        }
+
+        if (published > 0)
+            RadarClient.LOGGER.trace("Published {} chunk analyses ({} waiting, {} in flight).",
+                published, backlog.size() + completed.size(), inFlight.get());
+        dispatch();
+    }
+
+    public void clear()
+    {
+        epoch++;
+        backlog.clear();
+        completed.clear();
+        pendingSequences.clear();
+        nextToPublish = nextSequence;
+    }
+
+    int pendingCount()
+    {
+        return pendingSequences.size();
+    }
+
+    private boolean claim(Completed result)
+    {
+        return pendingSequences.remove(result.snapshot().chunkKey(), result.sequence());
+    }
+
+    private boolean isCurrent(Completed result, ClientLevel currentWorld)
+    {
+        if (result.epoch() != epoch || result.analysis() == null)
+            return false;
+        return result.snapshot().world() == currentWorld;
+    }
+
+    private void dispatch()
+    {
+        Iterator<Job> queued = backlog.values().iterator();
+        while (queued.hasNext() && inFlight.get() < MAX_IN_FLIGHT)
+        {
+            Job job = queued.next();
+            queued.remove();
+            inFlight.incrementAndGet();
+            try
+            {
+                executor().execute(() -> run(job));
+            }
+            catch (RejectedExecutionException e)
+            {
+                RadarClient.LOGGER.error("Chunk analysis rejected; analysing chunk on the client thread.", e);
+                run(job);
+            }
+        }
+    }
+
+    private void run(Job job)
+    {
+        ChunkAnalysis analysis = null;
+        try
+        {
+            if (job.epoch() == epoch)
+                analysis = analyzer.apply(job.snapshot());
+        }
+        catch (Exception e)
+        {
+            RadarClient.LOGGER.error("Failed to analyse chunk {}", job.snapshot().chunkKey(), e);
+        }
+        finally
+        {
+            completed.add(new Completed(job.sequence(), job.epoch(), job.snapshot(), analysis));
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private ExecutorService executor()
+    {
+        if (executor == null)
+        {
+            int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+            executor = Executors.newFixedThreadPool(threads, runnable ->
+            {
+                Thread thread = new Thread(runnable, "SpawnRadar-ChunkAnalysis-" + THREAD_COUNTER.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+}
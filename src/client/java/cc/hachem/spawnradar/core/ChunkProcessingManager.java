@@ -1,22 +1,24 @@
 package cc.hachem.spawnradar.core;
 
 import cc.hachem.spawnradar.RadarClient;
+import cc.hachem.spawnradar.collections.LongHashSet;
+import cc.hachem.spawnradar.collections.LongSetMultimap;
+import cc.hachem.spawnradar.config.ConfigManager;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientChunkEvents;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;import net.minecraft.ChatFormatting;import net.minecraft.client.Minecraft;import net.minecraft.client.multiplayer.ClientLevel;import net.minecraft.client.player.LocalPlayer;import net.minecraft.core.BlockPos;import net.minecraft.network.chat.Component;import net.minecraft.network.chat.MutableComponent;import net.minecraft.world.level.ChunkPos;import net.minecraft.world.level.block.entity.SpawnerBlockEntity;import net.minecraft.world.level.chunk.LevelChunk;import net.minecraft.world.level.chunk.status.ChunkStatus;import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 public final class ChunkProcessingManager
 {
-    private static final Map<Long, Set<Long>> chunkSpawners = new ConcurrentHashMap<>();
-    private static final List<Set<Long>> activeAlerts = Collections.synchronizedList(new ArrayList<>());
-    private static final List<Set<Long>> pendingAlertHighlights = Collections.synchronizedList(new ArrayList<>());
-    private static final Set<Long> activeChunks = ConcurrentHashMap.newKeySet();
+    private static final LongSetMultimap chunkSpawners = new LongSetMultimap();
+    private static final List<LongHashSet> activeAlerts = Collections.synchronizedList(new ArrayList<>());
+    private static final List<LongHashSet> pendingAlertHighlights = Collections.synchronizedList(new ArrayList<>());
+    private static final LongHashSet activeChunks = new LongHashSet();
+    private static final LongHashSet desiredChunks = new LongHashSet();
+    private static final ChunkSpawnerCache spawnerCache = new ChunkSpawnerCache(4096);
+    private static final ChunkAnalysisPipeline pipeline =
+        new ChunkAnalysisPipeline(ChunkProcessingManager::analyzeChunk, ChunkProcessingManager::publishAnalysis);
     private static int lastChunkX = Integer.MIN_VALUE;
     private static int lastChunkZ = Integer.MIN_VALUE;
     private static int lastViewDistance = -1;
@@ -34,6 +36,7 @@ public final class ChunkProcessingManager
                 lastChunkX = Integer.MIN_VALUE;
                 lastChunkZ = Integer.MIN_VALUE;
                 lastViewDistance = -1;
+                pipeline.clear();
                 return;
             }
             LocalPlayer player = client.player;
@@ -45,11 +48,12 @@ public final class ChunkProcessingManager
             int view = client.options.renderDistance().get();
             if (chunkX != lastChunkX || chunkZ != lastChunkZ || view != lastViewDistance)
             {
-                processLoadedChunks(world);
+                trackMovement(world, chunkX, chunkZ, view);
                 lastChunkX = chunkX;
                 lastChunkZ = chunkZ;
                 lastViewDistance = view;
             }
+            pipeline.drain(world, resolveDrainBudgetNanos());
         });
     }
 
@@ -59,11 +63,19 @@ public final class ChunkProcessingManager
         activeChunks.clear();
         activeAlerts.clear();
         pendingAlertHighlights.clear();
+        pipeline.clear();
+        spawnerCache.clear();
         lastChunkX = Integer.MIN_VALUE;
         lastChunkZ = Integer.MIN_VALUE;
         lastViewDistance = -1;
     }
 
+    public static boolean isTracked(BlockPos pos)
+    {
+        LongHashSet positions = chunkSpawners.get(ChunkPos.asLong(pos));
+        return positions != null && positions.contains(pos.asLong());
+    }
+
     public static void processLoadedChunks(ClientLevel world)
     {
         if (shouldNotProcess() || world == null)
@@ -78,14 +90,14 @@ public final class ChunkProcessingManager
         int centerChunkZ = player.chunkPosition().z;
         var chunkManager = world.getChunkSource();
 
-        Set<Long> desired = new HashSet<>();
+        desiredChunks.clear();
         for (int dx = -viewDistance; dx <= viewDistance; dx++)
             for (int dz = -viewDistance; dz <= viewDistance; dz++)
             {
                 int chunkX = centerChunkX + dx;
                 int chunkZ = centerChunkZ + dz;
                 long key = ChunkPos.asLong(chunkX, chunkZ);
-                desired.add(key);
+                desiredChunks.add(key);
                 if (activeChunks.add(key))
                 {
                     LevelChunk chunk = chunkManager.getChunk(chunkX, chunkZ, ChunkStatus.FULL, false);
@@ -94,15 +106,87 @@ public final class ChunkProcessingManager
                 }
             }
 
-        Set<Long> toRemove = new HashSet<>(activeChunks);
-        toRemove.removeAll(desired);
-        for (Long key : toRemove)
+        activeChunks.removeIf(key ->
         {
+            if (desiredChunks.contains(key))
+                return false;
+            pipeline.cancel(key);
             removeChunkEntries(key);
-            activeChunks.remove(key);
+            return true;
+        });
+    }
+
+    private static void trackMovement(ClientLevel world, int centerChunkX, int centerChunkZ, int viewDistance)
+    {
+        if (lastViewDistance < 0 || !squaresOverlap(lastChunkX, lastChunkZ, lastViewDistance,
+                                                    centerChunkX, centerChunkZ, viewDistance))
+        {
+            processLoadedChunks(world);
+            return;
+        }
+
+        var chunkManager = world.getChunkSource();
+        forEachChunkOutside(centerChunkX, centerChunkZ, viewDistance, lastChunkX, lastChunkZ, lastViewDistance,
+            (chunkX, chunkZ) ->
+            {
+                if (!activeChunks.add(ChunkPos.asLong(chunkX, chunkZ)))
+                    return;
+                LevelChunk chunk = chunkManager.getChunk(chunkX, chunkZ, ChunkStatus.FULL, false);
+                if (chunk != null)
+                    handleChunkLoad(world, chunk);
+            });
+
+        forEachChunkOutside(lastChunkX, lastChunkZ, lastViewDistance, centerChunkX, centerChunkZ, viewDistance,
+            (chunkX, chunkZ) ->
+            {
+                long key = ChunkPos.asLong(chunkX, chunkZ);
+                pipeline.cancel(key);
+                removeChunkEntries(key);
+                activeChunks.remove(key);
+            });
+    }
+
+    private static boolean squaresOverlap(int ax, int az, int aRadius, int bx, int bz, int bRadius)
+    {
+        long reach = (long) aRadius + bRadius;
+        return Math.abs((long) ax - bx) <= reach && Math.abs((long) az - bz) <= reach;
+    }
+
+    private static void forEachChunkOutside(int outerX, int outerZ, int outerRadius,
+                                            int innerX, int innerZ, int innerRadius,
+                                            ChunkConsumer consumer)
+    {
+        int minX = outerX - outerRadius;
+        int maxX = outerX + outerRadius;
+        int minZ = outerZ - outerRadius;
+        int maxZ = outerZ + outerRadius;
+
+        int overlapMinX = Math.max(minX, innerX - innerRadius);
+        int overlapMaxX = Math.min(maxX, innerX + innerRadius);
+        int innerMinZ = innerZ - innerRadius;
+        int innerMaxZ = innerZ + innerRadius;
+
+        for (int x = minX; x <= maxX; x++)
+        {
+            if (x < overlapMinX || x > overlapMaxX)
+            {
+                for (int z = minZ; z <= maxZ; z++)
+                    consumer.accept(x, z);
+                continue;
+            }
+
+            for (int z = minZ; z <= Math.min(maxZ, innerMinZ - 1); z++)
+                consumer.accept(x, z);
+            for (int z = Math.max(minZ, innerMaxZ + 1); z <= maxZ; z++)
+                consumer.accept(x, z);
         }
     }
 
+    private interface ChunkConsumer
+    {
+        void accept(int chunkX, int chunkZ);
+    }
+
     public static void rescanCurrentWorld()
     {
         Minecraft client = Minecraft.getInstance();
@@ -121,18 +205,51 @@ public final class ChunkProcessingManager
 
         long key = chunk.getPos().toLong();
         removeChunkEntries(key);
-        List<SpawnerInfo> spawners = extractSpawners(world, chunk);
+        List<ChunkAnalysisPipeline.SpawnerEntry> spawners = snapshotSpawners(chunk);
         if (spawners.isEmpty())
+        {
+            SpawnerDatabase.record(world, key, List.of());
+            return;
+        }
+
+        pipeline.submit(new ChunkAnalysisPipeline.ChunkSnapshot(world, key, spawners,
+            ChunkSpawnerCache.fingerprint(spawners)));
+    }
+
+    private static ChunkAnalysisPipeline.ChunkAnalysis analyzeChunk(ChunkAnalysisPipeline.ChunkSnapshot snapshot)
+    {
+        List<SpawnerInfo> spawners = spawnerCache.get(snapshot.world(), snapshot.chunkKey(), snapshot.fingerprint());
+        if (spawners == null)
+        {
+            spawners = new ArrayList<>(snapshot.spawners().size());
+            for (ChunkAnalysisPipeline.SpawnerEntry entry : snapshot.spawners())
+                spawners.add(new SpawnerInfo(entry.pos(), SpawnerMobResolver.entityTypeOf(entry.entityId())));
+            spawnerCache.put(snapshot.world(), snapshot.chunkKey(), snapshot.fingerprint(), spawners);
+        }
+        else
+            RadarClient.LOGGER.trace("Reused {} cached spawners for chunk {}", spawners.size(), snapshot.chunkKey());
+        SpawnerDatabase.record(snapshot.world(), snapshot.chunkKey(), spawners);
+
+        return new ChunkAnalysisPipeline.ChunkAnalysis(snapshot.chunkKey(), spawners, findAlertCandidates(spawners));
+    }
+
+    private static void publishAnalysis(ChunkAnalysisPipeline.ChunkAnalysis analysis)
+    {
+        if (shouldNotProcess())
             return;
 
-        chunkSpawners.put(key, spawners.stream()
-            .map(info -> info.pos().asLong())
-            .collect(Collectors.toCollection(HashSet::new)));
+        long key = analysis.chunkKey();
+        removeChunkEntries(key);
+
+        LongHashSet positions = new LongHashSet(analysis.spawners().size());
+        for (SpawnerInfo info : analysis.spawners())
+            positions.add(info.pos().asLong());
+        chunkSpawners.putAll(key, positions);
         activeChunks.add(key);
-        for (SpawnerInfo info : spawners)
+        for (SpawnerInfo info : analysis.spawners())
             BlockBank.add(info);
 
-        evaluateClusters(spawners);
+        raiseAlerts(analysis.alertCandidates());
     }
 
     private static void handleChunkUnload(ClientLevel world, LevelChunk chunk)
@@ -140,22 +257,22 @@ public final class ChunkProcessingManager
         if (chunk == null)
             return;
         long key = chunk.getPos().toLong();
+        pipeline.cancel(key);
         removeChunkEntries(key);
         activeChunks.remove(key);
     }
 
     private static void removeChunkEntries(long key)
     {
-        Set<Long> removed = chunkSpawners.remove(key);
+        LongHashSet removed = chunkSpawners.removeAll(key);
         if (removed == null || removed.isEmpty())
             return;
-        Set<BlockPos> positions = removed.stream().map(BlockPos::of).collect(Collectors.toSet());
-        BlockBank.removeAll(positions);
+        BlockBank.removeChunk(key);
         ClusterManager.removeBackgroundHighlights(removed);
         invalidateAlerts(removed);
     }
 
-    private static void invalidateAlerts(Set<Long> removedPositions)
+    private static void invalidateAlerts(LongHashSet removedPositions)
     {
         if (removedPositions == null || removedPositions.isEmpty())
             return;
@@ -163,73 +280,73 @@ public final class ChunkProcessingManager
         pruneAlertSets(pendingAlertHighlights, removedPositions);
     }
 
-    private static void pruneAlertSets(List<Set<Long>> source, Set<Long> removedPositions)
+    private static void pruneAlertSets(List<LongHashSet> source, LongHashSet removedPositions)
     {
         synchronized (source)
         {
-            source.removeIf(cluster -> intersects(cluster, removedPositions));
+            source.removeIf(cluster -> cluster.intersects(removedPositions));
         }
     }
 
-    private static boolean intersects(Set<Long> alert, Set<Long> positions)
+    private static boolean shouldNotProcess()
     {
-        for (Long value : positions)
-            if (alert.contains(value))
-                return true;
-        return false;
+        return RadarClient.config == null || !RadarClient.config.processChunksOnGeneration;
     }
 
-    private static boolean shouldNotProcess()
+    private static long resolveDrainBudgetNanos()
     {
-        return RadarClient.config == null || !RadarClient.config.processChunksOnGeneration;
+        int budgetMs = RadarClient.config != null
+            ? RadarClient.config.chunkProcessingBudgetMs
+            : ConfigManager.DEFAULT.chunkProcessingBudgetMs;
+        return Math.max(1, budgetMs) * 1_000_000L;
     }
 
-    private static List<SpawnerInfo> extractSpawners(ClientLevel world, LevelChunk chunk)
+    private static List<ChunkAnalysisPipeline.SpawnerEntry> snapshotSpawners(LevelChunk chunk)
     {
         if (chunk.getBlockEntities().isEmpty())
             return Collections.emptyList();
 
-        List<SpawnerInfo> found = new ArrayList<>();
+        List<ChunkAnalysisPipeline.SpawnerEntry> found = new ArrayList<>();
         chunk.getBlockEntities().forEach((pos, blockEntity) ->
         {
-            if (blockEntity instanceof SpawnerBlockEntity)
-            {
-                SpawnerInfo info = BlockBank.createSpawnerInfo(world, pos);
-                found.add(info);
-            }
+            if (blockEntity instanceof SpawnerBlockEntity spawner)
+                found.add(new ChunkAnalysisPipeline.SpawnerEntry(pos.immutable(),
+                    SpawnerMobResolver.spawnDataEntityId(spawner)));
         });
         return found;
     }
 
-    private static void evaluateClusters(List<SpawnerInfo> newlyFound)
+    private static List<SpawnerCluster> findAlertCandidates(List<SpawnerInfo> newlyFound)
     {
-        if (newlyFound.isEmpty())
-            return;
-
-        var client = Minecraft.getInstance();
-        var player = client.player;
         var config = RadarClient.config;
-        if (player == null || config == null)
-            return;
+        if (newlyFound.isEmpty() || config == null)
+            return Collections.emptyList();
 
         int threshold = Math.max(2, config.backgroundClusterAlertThreshold);
-        double proximity = Math.max(8, config.backgroundClusterProximity);
-        double proximitySq = proximity * proximity;
+        int proximity = Math.max(8, config.backgroundClusterProximity);
+        double proximitySq = (double) proximity * proximity;
 
-        List<SpawnerInfo> allSpawners = BlockBank.getAll();
+        LongHashSet known = new LongHashSet(newlyFound.size());
+        for (SpawnerInfo info : newlyFound)
+            known.add(info.pos().asLong());
+
+        List<SpawnerCluster> alertCandidates = new ArrayList<>();
         double activationRadius = RadarClient.getActivationRadius();
         for (SpawnerInfo origin : newlyFound)
         {
             List<SpawnerInfo> nearby = new ArrayList<>();
-            for (SpawnerInfo info : allSpawners)
+            for (SpawnerInfo info : newlyFound)
                 if (info.pos().distSqr(origin.pos()) <= proximitySq)
                     nearby.add(info);
+            for (SpawnerInfo info : BlockBank.getNearby(origin.pos(), proximity))
+                if (!known.contains(info.pos().asLong()))
+                    nearby.add(info);
 
             if (nearby.size() < threshold)
                 continue;
 
             List<SpawnerCluster> clusters = SpawnerCluster.findClusters(
-                player,
+                null,
                 nearby,
                 activationRadius,
                 SpawnerCluster.SortType.NO_SORT
@@ -239,48 +356,59 @@ public final class ChunkProcessingManager
             {
                 if (cluster.spawners().size() < threshold)
                     continue;
-                if (!isClusterWithinRange(cluster, origin.pos(), proximitySq))
-                    continue;
-                if (!shouldAlert(cluster))
-                    continue;
-                if (config.autoHighlightAlertedClusters)
-                    ClusterManager.addBackgroundHighlights(cluster.spawners());
-                sendAlert(cluster, player);
+                if (isClusterWithinRange(cluster, origin.pos(), proximitySq))
+                    alertCandidates.add(cluster);
             }
         }
+        return alertCandidates;
+    }
+
+    private static void raiseAlerts(List<SpawnerCluster> alertCandidates)
+    {
+        var player = Minecraft.getInstance().player;
+        var config = RadarClient.config;
+        if (alertCandidates.isEmpty() || player == null || config == null)
+            return;
+
+        for (SpawnerCluster cluster : alertCandidates)
+        {
+            if (!shouldAlert(cluster))
+                continue;
+            if (config.autoHighlightAlertedClusters)
+                ClusterManager.addBackgroundHighlights(cluster.spawners());
+            sendAlert(cluster, player);
+        }
     }
 
     private static boolean shouldAlert(SpawnerCluster cluster)
     {
-        Set<Long> current = cluster.spawners().stream()
-            .map(info -> info.pos().asLong())
-            .collect(Collectors.toSet());
+        LongHashSet current = clusterToSet(cluster);
 
         synchronized (activeAlerts)
         {
-            for (Set<Long> previous : activeAlerts)
-                if (!Collections.disjoint(previous, current))
+            for (LongHashSet previous : activeAlerts)
+                if (previous.intersects(current))
                     return false;
             activeAlerts.add(current);
         }
 
         synchronized (pendingAlertHighlights)
         {
-            pendingAlertHighlights.add(new HashSet<>(current));
+            pendingAlertHighlights.add(new LongHashSet(current));
         }
         return true;
     }
 
     public static boolean consumeAlertForCluster(SpawnerCluster cluster)
     {
-        Set<Long> current = clusterToSet(cluster);
+        LongHashSet current = clusterToSet(cluster);
         synchronized (pendingAlertHighlights)
         {
-            java.util.Iterator<Set<Long>> iterator = pendingAlertHighlights.iterator();
+            java.util.Iterator<LongHashSet> iterator = pendingAlertHighlights.iterator();
             while (iterator.hasNext())
             {
-                Set<Long> pending = iterator.next();
-                if (!Collections.disjoint(pending, current))
+                LongHashSet pending = iterator.next();
+                if (pending.intersects(current))
                 {
                     iterator.remove();
                     return true;
@@ -307,9 +435,9 @@ public final class ChunkProcessingManager
         player.displayClientMessage(alert, false);
     }
 
-    private static Set<Long> clusterToSet(SpawnerCluster cluster)
+    private static LongHashSet clusterToSet(SpawnerCluster cluster)
     {
-        Set<Long> ids = new HashSet<>();
+        LongHashSet ids = new LongHashSet(cluster.spawners().size());
         for (SpawnerInfo info : cluster.spawners())
             ids.add(info.pos().asLong());
         return ids;
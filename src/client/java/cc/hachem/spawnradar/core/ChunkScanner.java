@@ -0,0 +1,111 @@
+package cc.hachem.spawnradar.core;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.entity.SpawnerBlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+
+public final class ChunkScanner
+{
+    public enum ScanMode
+    {
+        BLOCK_ENTITIES("option.spawn_radar.scan_mode.block_entities"),
+        SECTIONS("option.spawn_radar.scan_mode.sections");
+
+        private final String name;
+        ScanMode(String name) { this.name = name; }
+        public String toString() { return name; }
+    }
+
+    private static final Predicate<BlockState> IS_SPAWNER = state -> state.is(Blocks.SPAWNER);
+    private static final int SECTION_SIZE = 16;
+
+    private ChunkScanner() {}
+
+    public static void scan(LevelChunk chunk, ScanMode mode, Consumer<BlockPos> consumer)
+    {
+        if (mode == ScanMode.BLOCK_ENTITIES)
+        {
+            List<BlockPos> positions = collectSpawnerBlockEntities(chunk);
+            if (positions != null && (!positions.isEmpty() || !hasSpawnerSections(chunk)))
+            {
+                positions.forEach(consumer);
+                return;
+            }
+        }
+        scanSections(chunk, consumer);
+    }
+
+    public static void scanSections(LevelChunk chunk, Consumer<BlockPos> consumer)
+    {
+        scanSections(
+            chunk.getSections(),
+            chunk.getPos().getMinBlockX(),
+            chunk.getMinSectionY(),
+            chunk.getPos().getMinBlockZ(),
+            consumer
+        );
+    }
+
+    static void scanSections(LevelChunkSection[] sections, int baseX, int minSectionY, int baseZ,
+                             Consumer<BlockPos> consumer)
+    {
+        for (int index = 0; index < sections.length; index++)
+        {
+            LevelChunkSection section = sections[index];
+            if (!mayContainSpawner(section))
+                continue;
+
+            int baseY = SectionPos.sectionToBlockCoord(minSectionY + index);
+            sweepSection(section, baseX, baseY, baseZ, consumer);
+        }
+    }
+
+    private static List<BlockPos> collectSpawnerBlockEntities(LevelChunk chunk)
+    {
+        List<BlockPos> positions = new ArrayList<>();
+        try
+        {
+            for (BlockEntity blockEntity : chunk.getBlockEntities().values())
+                if (blockEntity instanceof SpawnerBlockEntity)
+                    positions.add(blockEntity.getBlockPos());
+        }
+        catch (ConcurrentModificationException e)
+        {
+            return null;
+        }
+        return positions;
+    }
+
+    private static boolean hasSpawnerSections(LevelChunk chunk)
+    {
+        for (LevelChunkSection section : chunk.getSections())
+            if (mayContainSpawner(section))
+                return true;
+        return false;
+    }
+
+    public static boolean mayContainSpawner(LevelChunkSection section)
+    {
+        return section != null && !section.hasOnlyAir() && section.maybeHas(IS_SPAWNER);
+    }
+
+    private static void sweepSection(LevelChunkSection section, int baseX, int baseY, int baseZ,
+                                     Consumer<BlockPos> consumer)
+    {
+        for (int y = 0; y < SECTION_SIZE; y++)
+            for (int z = 0; z < SECTION_SIZE; z++)
+                for (int x = 0; x < SECTION_SIZE; x++)
+                    if (section.getBlockState(x, y, z).is(Blocks.SPAWNER))
+                        consumer.accept(new BlockPos(baseX + x, baseY + y, baseZ + z));
+    }
+}
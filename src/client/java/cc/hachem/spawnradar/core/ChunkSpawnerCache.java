@@ -0,0 +1,75 @@
+package cc.hachem.spawnradar.core;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class ChunkSpawnerCache
+{
+    private record Entry(long fingerprint, List<SpawnerInfo> spawners) {}
+
+    private final Map<Long, Entry> entries;
+    private Object owner;
+
+    ChunkSpawnerCache(int capacity)
+    {
+        this.entries = new LinkedHashMap<>(64, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest)
+            {
+                return size() > capacity;
+            }
+        };
+    }
+
+    static long fingerprint(List<ChunkAnalysisPipeline.SpawnerEntry> spawners)
+    {
+        long hash = spawners.size();
+        for (ChunkAnalysisPipeline.SpawnerEntry spawner : spawners)
+            hash += mix(spawner.pos().asLong() ^ mix(spawner.entityId().hashCode()));
+        return hash;
+    }
+
+    synchronized List<SpawnerInfo> get(Object world, long chunkKey, long fingerprint)
+    {
+        ensureOwner(world);
+        Entry entry = entries.get(chunkKey);
+        return entry != null && entry.fingerprint() == fingerprint ? entry.spawners() : null;
+    }
+
+    synchronized void put(Object world, long chunkKey, long fingerprint, List<SpawnerInfo> spawners)
+    {
+        ensureOwner(world);
+        for (SpawnerInfo info : spawners)
+            if (!info.hasKnownMob())
+            {
+                entries.remove(chunkKey);
+                return;
+            }
+        entries.put(chunkKey, new Entry(fingerprint, List.copyOf(spawners)));
+    }
+
+    synchronized void clear()
+    {
+        entries.clear();
+        owner = null;
+    }
+
+    private void ensureOwner(Object world)
+    {
+        if (owner == world)
+            return;
+        entries.clear();
+        owner = world;
+    }
+
+    private static long mix(long value)
+    {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+}
@@ -0,0 +1,365 @@
+package cc.hachem.spawnradar.core;
+
+import cc.hachem.spawnradar.RadarClient;
+import cc.hachem.spawnradar.collections.LongHashSet;
+import cc.hachem.spawnradar.config.ConfigManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import net.minecraft.core.BlockPos;
+
+final class ClusterEngine
+{
+    private static final Comparator<SpawnerInfo> MEMBER_ORDER =
+        Comparator.<SpawnerInfo>comparingInt(info -> info.pos().getX())
+            .thenComparingInt(info -> info.pos().getY())
+            .thenComparingInt(info -> info.pos().getZ());
+
+    private static final int PARALLEL_THRESHOLD = 64;
+    private static final int TASK_GRANULARITY = 16;
+    private static ForkJoinPool pool;
+
+    private final List<SpawnerInfo> spawners;
+    private final double radius;
+    private final int threads;
+    private final SphereStencil stencil;
+    private final double reachSq;
+    private final int extent;
+    private final int cellSize;
+    private final Map<Long, List<Integer>> cells = new HashMap<>();
+
+    ClusterEngine(List<SpawnerInfo> spawners, double radius)
+    {
+        this(spawners, radius, resolveThreadCount());
+    }
+
+    ClusterEngine(List<SpawnerInfo> spawners, double radius, int threads)
+    {
+        this.spawners = spawners;
+        this.radius = radius;
+        this.threads = threads;
+        this.stencil = SphereStencil.forRadius(radius);
+        this.reachSq = (radius * 2) * (radius * 2);
+        this.extent = stencil.extent();
+        this.cellSize = Math.max(1, (int) Math.ceil(radius * 2));
+
+        for (int i = 0; i < spawners.size(); i++)
+            cells.computeIfAbsent(cellKey(spawners.get(i).pos()), ignored -> new ArrayList<>(4)).add(i);
+    }
+
+    static List<SpawnerCluster> findClusters(List<SpawnerInfo> spawners, double radius)
+    {
+        return new ClusterEngine(spawners, radius).run();
+    }
+
+    static Executor executor(int threads)
+    {
+        return getPool(threads);
+    }
+
+    static VoxelRegion intersectionRegion(List<SpawnerInfo> members, double radius)
+    {
+        int extent = SphereStencil.forRadius(radius).extent();
+        int minX = Integer.MIN_VALUE, minY = Integer.MIN_VALUE, minZ = Integer.MIN_VALUE;
+        int maxX = Integer.MAX_VALUE, maxY = Integer.MAX_VALUE, maxZ = Integer.MAX_VALUE;
+        for (SpawnerInfo member : members)
+        {
+            BlockPos pos = member.pos();
+            minX = Math.max(minX, pos.getX() - extent);
+            minY = Math.max(minY, pos.getY() - extent);
+            minZ = Math.max(minZ, pos.getZ() - extent);
+            maxX = Math.min(maxX, pos.getX() + extent);
+            maxY = Math.min(maxY, pos.getY() + extent);
+            maxZ = Math.min(maxZ, pos.getZ() + extent);
+        }
+        if (minX > maxX || minY > maxY || minZ > maxZ)
+            return VoxelRegion.empty();
+
+        VoxelRegion.Builder region = new VoxelRegion.Builder(minX, minY, minZ, maxX, maxY, maxZ);
+        new ClusterEngine(List.of(), radius, 1).forEachColumn(members, null, (x, y, fromZ, toZ) ->
+        {
+            region.addSpan(x, y, fromZ, toZ);
+            return false;
+        });
+        return region.build();
+    }
+
+    private List<SpawnerCluster> run()
+    {
+        int[] centers = new int[spawners.size()];
+        for (int i = 0; i < centers.length; i++)
+            centers[i] = i;
+
+        List<SpawnerCluster> clusters = assemble(buildClusters(centers));
+        clusters.replaceAll(cluster -> new SpawnerCluster(
+            cluster.id(), cluster.spawners(), intersectionRegion(cluster.spawners(), radius)));
+        return clusters;
+    }
+
+    List<SpawnerCluster> assemble(List<List<SpawnerInfo>> candidates)
+    {
+        List<SpawnerCluster> clusters = new ArrayList<>();
+        Set<MemberKey> seen = new HashSet<>();
+        LongHashSet clustered = new LongHashSet();
+        int nextId = 1;
+
+        for (List<SpawnerInfo> members : candidates)
+        {
+            if (members == null)
+                continue;
+            if (!seen.add(MemberKey.of(members)))
+                continue;
+
+            for (SpawnerInfo member : members)
+                clustered.add(member.pos().asLong());
+            clusters.add(new SpawnerCluster(nextId++, members, VoxelRegion.empty()));
+        }
+
+        for (SpawnerInfo spawner : spawners)
+            if (clustered.add(spawner.pos().asLong()))
+                clusters.add(new SpawnerCluster(nextId++, List.of(spawner), VoxelRegion.empty()));
+
+        return SpawnerCluster.filterSubsets(clusters);
+    }
+
+    List<List<SpawnerInfo>> buildClusters(int[] centers)
+    {
+        @SuppressWarnings("unchecked")
+        List<SpawnerInfo>[] results = new List[centers.length];
+        if (threads <= 1 || centers.length < PARALLEL_THRESHOLD)
+        {
+            for (int i = 0; i < centers.length; i++)
+                results[i] = buildCluster(centers[i]);
+        }
+        else
+        {
+            getPool(threads).invoke(new CandidateTask(centers, results, 0, centers.length));
+        }
+        return Arrays.asList(results);
+    }
+
+    List<SpawnerInfo> buildCluster(int centerIndex)
+    {
+        SpawnerInfo center = spawners.get(centerIndex);
+        int[] neighbors = sortedNeighbors(centerIndex);
+        if (neighbors.length == 0)
+            return null;
+
+        List<SpawnerInfo> members = new ArrayList<>();
+        members.add(center);
+
+        for (int neighbor : neighbors)
+        {
+            SpawnerInfo other = spawners.get(neighbor);
+            if (!withinReachOfAll(members, other.pos()))
+                break;
+            if (!forEachColumn(members, other.pos(), (x, y, minZ, maxZ) -> true))
+                break;
+
+            members.add(other);
+        }
+
+        if (members.size() <= 1)
+            return null;
+
+        members.sort(MEMBER_ORDER);
+        return members;
+    }
+
+    void forEachWithinReach(BlockPos pos, IntConsumer consumer)
+    {
+        int cellX = Math.floorDiv(pos.getX(), cellSize);
+        int cellY = Math.floorDiv(pos.getY(), cellSize);
+        int cellZ = Math.floorDiv(pos.getZ(), cellSize);
+
+        for (int x = cellX - 1; x <= cellX + 1; x++)
+            for (int y = cellY - 1; y <= cellY + 1; y++)
+                for (int z = cellZ - 1; z <= cellZ + 1; z++)
+                {
+                    List<Integer> cell = cells.get(BlockPos.asLong(x, y, z));
+                    if (cell == null)
+                        continue;
+                    for (int index : cell)
+                        if (distanceSquared(pos, spawners.get(index).pos()) <= reachSq)
+                            consumer.accept(index);
+                }
+    }
+
+    private int[] sortedNeighbors(int centerIndex)
+    {
+        BlockPos center = spawners.get(centerIndex).pos();
+        List<long[]> found = new ArrayList<>();
+        forEachWithinReach(center, index ->
+        {
+            if (index != centerIndex)
+                found.add(new long[] {distanceSquared(center, spawners.get(index).pos()), index});
+        });
+
+        found.sort((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        int[] ordered = new int[found.size()];
+        for (int i = 0; i < ordered.length; i++)
+            ordered[i] = (int) found.get(i)[1];
+        return ordered;
+    }
+
+    private boolean withinReachOfAll(List<SpawnerInfo> members, BlockPos pos)
+    {
+        for (SpawnerInfo member : members)
+            if (distanceSquared(member.pos(), pos) > reachSq)
+                return false;
+        return true;
+    }
+
+    private boolean forEachColumn(List<SpawnerInfo> members, BlockPos extra, ColumnVisitor visitor)
+    {
+        int minX = Integer.MIN_VALUE, minY = Integer.MIN_VALUE;
+        int maxX = Integer.MAX_VALUE, maxY = Integer.MAX_VALUE;
+        for (SpawnerInfo member : members)
+        {
+            BlockPos pos = member.pos();
+            minX = Math.max(minX, pos.getX() - extent);
+            minY = Math.max(minY, pos.getY() - extent);
+            maxX = Math.min(maxX, pos.getX() + extent);
+            maxY = Math.min(maxY, pos.getY() + extent);
+        }
+        if (extra != null)
+        {
+            minX = Math.max(minX, extra.getX() - extent);
+            minY = Math.max(minY, extra.getY() - extent);
+            maxX = Math.min(maxX, extra.getX() + extent);
+            maxY = Math.min(maxY, extra.getY() + extent);
+        }
+
+        for (int x = minX; x <= maxX; x++)
+            for (int y = minY; y <= maxY; y++)
+            {
+                long span = columnSpan(members, x, y, Integer.MIN_VALUE, Integer.MAX_VALUE);
+                if (span != SphereStencil.EMPTY_SPAN && extra != null)
+                    span = stencil.clip(extra, x, y, SphereStencil.spanMin(span), SphereStencil.spanMax(span));
+                if (span != SphereStencil.EMPTY_SPAN
+                    && visitor.visit(x, y, SphereStencil.spanMin(span), SphereStencil.spanMax(span)))
+                    return true;
+            }
+        return false;
+    }
+
+    private long columnSpan(List<SpawnerInfo> members, int x, int y, int minZ, int maxZ)
+    {
+        for (SpawnerInfo member : members)
+        {
+            long span = stencil.clip(member.pos(), x, y, minZ, maxZ);
+            if (span == SphereStencil.EMPTY_SPAN)
+                return SphereStencil.EMPTY_SPAN;
+            minZ = SphereStencil.spanMin(span);
+            maxZ = SphereStencil.spanMax(span);
+        }
+        return SphereStencil.packSpan(minZ, maxZ);
+    }
+
+    private long cellKey(BlockPos pos)
+    {
+        return BlockPos.asLong(
+            Math.floorDiv(pos.getX(), cellSize),
+            Math.floorDiv(pos.getY(), cellSize),
+            Math.floorDiv(pos.getZ(), cellSize));
+    }
+
+    private static long distanceSquared(BlockPos a, BlockPos b)
+    {
+        long dx = a.getX() - b.getX();
+        long dy = a.getY() - b.getY();
+        long dz = a.getZ() - b.getZ();
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    static int resolveThreadCount()
+    {
+        return RadarClient.config != null
+            ? RadarClient.config.clusterThreadCount
+            : ConfigManager.DEFAULT.clusterThreadCount;
+    }
+
+    private static synchronized ForkJoinPool getPool(int threads)
+    {
+        if (pool == null || pool.getParallelism() != threads)
+        {
+            pool = new ForkJoinPool(threads, forkJoinPool ->
+            {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                thread.setName("SpawnRadar-Cluster-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            }, null, false);
+        }
+        return pool;
+    }
+
+    private final class CandidateTask extends RecursiveAction
+    {
+        private final int[] centers;
+        private final List<SpawnerInfo>[] results;
+        private final int from;
+        private final int to;
+
+        CandidateTask(int[] centers, List<SpawnerInfo>[] results, int from, int to)
+        {
+            this.centers = centers;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (to - from <= TASK_GRANULARITY)
+            {
+                for (int i = from; i < to; i++)
+                    results[i] = buildCluster(centers[i]);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new CandidateTask(centers, results, from, middle),
+                      new CandidateTask(centers, results, middle, to));
+        }
+    }
+
+    private interface ColumnVisitor
+    {
+        boolean visit(int x, int y, int minZ, int maxZ);
+    }
+
+    record MemberKey(long[] positions)
+    {
+        static MemberKey of(List<SpawnerInfo> members)
+        {
+            long[] positions = new long[members.size()];
+            for (int i = 0; i < positions.length; i++)
+                positions[i] = members.get(i).pos().asLong();
+            return new MemberKey(positions);
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            return other instanceof MemberKey key && Arrays.equals(positions, key.positions);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Arrays.hashCode(positions);
+        }
+    }
+}
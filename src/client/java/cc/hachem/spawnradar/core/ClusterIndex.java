@@ -0,0 +1,151 @@
+package cc.hachem.spawnradar.core;
+
+import cc.hachem.spawnradar.RadarClient;
+import cc.hachem.spawnradar.collections.LongHashSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.minecraft.core.BlockPos;
+
+public final class ClusterIndex
+{
+    public record ClusterDelta(List<SpawnerCluster> clusters, List<SpawnerCluster> added, Set<Integer> removedIds) {}
+
+    private static final Map<Long, SpawnerInfo> indexedSpawners = new HashMap<>();
+    private static final Map<Long, List<SpawnerInfo>> candidatesByCenter = new HashMap<>();
+    private static final Map<ClusterEngine.MemberKey, SpawnerCluster> clustersByMembers = new HashMap<>();
+    private static final AtomicInteger generation = new AtomicInteger();
+    private static double indexedRadius = Double.NaN;
+    private static int indexedGeneration;
+    private static int nextId = 1;
+
+    private ClusterIndex() {}
+
+    public static CompletableFuture<ClusterDelta> updateAsync(List<SpawnerInfo> spawners, double activationRadius)
+    {
+        int threads = ClusterEngine.resolveThreadCount();
+        return CompletableFuture.supplyAsync(() -> update(spawners, activationRadius, threads), ClusterEngine.executor(threads));
+    }
+
+    static synchronized ClusterDelta update(List<SpawnerInfo> spawners, double activationRadius, int threads)
+    {
+        long startTime = System.nanoTime();
+        int currentGeneration = generation.get();
+        if (activationRadius != indexedRadius || currentGeneration != indexedGeneration)
+        {
+            reset();
+            indexedRadius = activationRadius;
+            indexedGeneration = currentGeneration;
+        }
+
+        ClusterEngine engine = new ClusterEngine(spawners, activationRadius, threads);
+        LongHashSet changed = collectChangedPositions(spawners);
+        boolean[] dirty = new boolean[spawners.size()];
+        changed.forEach(packed -> engine.forEachWithinReach(BlockPos.of(packed), index -> dirty[index] = true));
+
+        int rebuilt = 0;
+        int[] rebuild = new int[spawners.size()];
+        for (int i = 0; i < spawners.size(); i++)
+            if (dirty[i] || !candidatesByCenter.containsKey(spawners.get(i).pos().asLong()))
+                rebuild[rebuilt++] = i;
+        List<List<SpawnerInfo>> rebuiltCandidates = engine.buildClusters(Arrays.copyOf(rebuild, rebuilt));
+        for (int i = 0; i < rebuilt; i++)
+        {
+            List<SpawnerInfo> members = rebuiltCandidates.get(i);
+            candidatesByCenter.put(spawners.get(rebuild[i]).pos().asLong(), members == null ? List.of() : members);
+        }
+
+        List<List<SpawnerInfo>> candidates = new ArrayList<>(spawners.size());
+        Map<Long, List<SpawnerInfo>> nextCandidates = new HashMap<>();
+        for (SpawnerInfo spawner : spawners)
+        {
+            long center = spawner.pos().asLong();
+            List<SpawnerInfo> members = candidatesByCenter.get(center);
+            nextCandidates.put(center, members);
+            candidates.add(members.isEmpty() ? null : members);
+        }
+
+        List<SpawnerCluster> assembled = engine.assemble(candidates);
+        Map<ClusterEngine.MemberKey, SpawnerCluster> nextClusters = new HashMap<>();
+        List<SpawnerCluster> added = new ArrayList<>();
+        List<SpawnerCluster> clusters = new ArrayList<>(assembled.size());
+        for (SpawnerCluster cluster : assembled)
+        {
+            ClusterEngine.MemberKey key = ClusterEngine.MemberKey.of(cluster.spawners());
+            SpawnerCluster existing = clustersByMembers.get(key);
+            if (existing == null || !existing.spawners().equals(cluster.spawners()))
+            {
+                int id = existing != null ? existing.id() : nextId++;
+                existing = new SpawnerCluster(id, cluster.spawners(),
+                    ClusterEngine.intersectionRegion(cluster.spawners(), activationRadius));
+                added.add(existing);
+            }
+            nextClusters.put(key, existing);
+            clusters.add(existing);
+        }
+
+        Set<Integer> removedIds = new HashSet<>();
+        for (Map.Entry<ClusterEngine.MemberKey, SpawnerCluster> entry : clustersByMembers.entrySet())
+        {
+            SpawnerCluster next = nextClusters.get(entry.getKey());
+            if (next == null || next != entry.getValue())
+                removedIds.add(entry.getValue().id());
+        }
+        for (SpawnerCluster cluster : added)
+            removedIds.remove(cluster.id());
+
+        clustersByMembers.clear();
+        clustersByMembers.putAll(nextClusters);
+        candidatesByCenter.clear();
+        candidatesByCenter.putAll(nextCandidates);
+        indexedSpawners.clear();
+        for (SpawnerInfo info : spawners)
+            indexedSpawners.put(info.pos().asLong(), info);
+
+        RadarClient.LOGGER.info("Incremental clustering: {} changed spawners, {} centers rebuilt, {} added, {} removed, took {} ms",
+            changed.size(), rebuilt, added.size(), removedIds.size(), (System.nanoTime() - startTime) / 1_000_000.0);
+        return new ClusterDelta(clusters, added, removedIds);
+    }
+
+    public static int generation()
+    {
+        return generation.get();
+    }
+
+    public static void clear()
+    {
+        generation.incrementAndGet();
+    }
+
+    private static void reset()
+    {
+        indexedSpawners.clear();
+        candidatesByCenter.clear();
+        clustersByMembers.clear();
+        indexedRadius = Double.NaN;
+        nextId = 1;
+    }
+
+    private static LongHashSet collectChangedPositions(List<SpawnerInfo> spawners)
+    {
+        LongHashSet changed = new LongHashSet();
+        LongHashSet present = new LongHashSet(spawners.size());
+        for (SpawnerInfo info : spawners)
+        {
+            long packed = info.pos().asLong();
+            present.add(packed);
+            if (!info.equals(indexedSpawners.get(packed)))
+                changed.add(packed);
+        }
+        for (Long packed : indexedSpawners.keySet())
+            if (!present.contains(packed))
+                changed.add(packed);
+        return changed;
+    }
+}
@@ -1,22 +1,27 @@
 package cc.hachem.spawnradar.core;
 
 import cc.hachem.spawnradar.RadarClient;
+import cc.hachem.spawnradar.collections.LongHashSet;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import net.minecraft.core.BlockPos;
 
 public class ClusterManager
 {
     private static final Set<Integer> highlightedClusterIds = new HashSet<>();
     private static List<SpawnerCluster> clusters = new ArrayList<>();
-    private static final Set<Long> backgroundHighlightSpawners = Collections.synchronizedSet(new HashSet<>());
+    private static final LongHashSet backgroundHighlightSpawners = new LongHashSet();
+    private static final AtomicInteger highlightRevision = new AtomicInteger();
 
     private ClusterManager() {}
 
-    public static void setClusters(List<SpawnerCluster> list)
+    public static void applyDelta(ClusterIndex.ClusterDelta delta)
     {
-        clusters = list;
-        highlightedClusterIds.clear();
-        RadarClient.LOGGER.debug("Set {} clusters.", list.size());
+        clusters = new ArrayList<>(delta.clusters());
+        highlightedClusterIds.removeAll(delta.removedIds());
+        highlightRevision.incrementAndGet();
+        RadarClient.LOGGER.debug("Applied cluster delta: {} clusters, {} added, {} removed.",
+            clusters.size(), delta.added().size(), delta.removedIds().size());
     }
 
     public static List<SpawnerCluster> getClusters()
@@ -63,6 +68,7 @@ public class ClusterManager
             highlightedClusterIds.add(clusterId);
             RadarClient.LOGGER.info("Highlighted cluster #{}.", clusterId + 1);
         }
+        highlightRevision.incrementAndGet();
     }
 
     public static void highlightAllClusters()
@@ -70,18 +76,20 @@ public class ClusterManager
         highlightedClusterIds.clear();
         for (SpawnerCluster c : clusters)
             highlightedClusterIds.add(c.id());
+        highlightRevision.incrementAndGet();
         RadarClient.LOGGER.info("Highlighted all {} clusters.", clusters.size());
     }
 
     public static void highlightCluster(int clusterId)
     {
-        if (isValidClusterId(clusterId))
-            highlightedClusterIds.add(clusterId);
+        if (isValidClusterId(clusterId) && highlightedClusterIds.add(clusterId))
+            highlightRevision.incrementAndGet();
     }
 
     public static void unhighlightAllClusters()
     {
         highlightedClusterIds.clear();
+        highlightRevision.incrementAndGet();
         RadarClient.LOGGER.info("Un-highlighted all clusters.");
     }
 
@@ -90,9 +98,14 @@ public class ClusterManager
         return new HashSet<>(highlightedClusterIds);
     }
 
+    public static long getHighlightRevision()
+    {
+        return ((long) highlightRevision.get() << 32) | (BlockBank.getRevision() & 0xFFFFFFFFL);
+    }
+
     public static List<SpawnerInfo> getHighlights()
     {
-        Set<Long> seen = new HashSet<>();
+        LongHashSet seen = new LongHashSet();
         List<SpawnerInfo> highlights = new ArrayList<>(getBackgroundHighlightInfos(seen));
 
         if (!highlightedClusterIds.isEmpty())
@@ -113,20 +126,32 @@ public class ClusterManager
     {
         if (spawners == null || spawners.isEmpty() || isBackgroundHighlightingDisabled())
             return;
-        for (SpawnerInfo info : spawners)
-            backgroundHighlightSpawners.add(info.pos().asLong());
+        synchronized (backgroundHighlightSpawners)
+        {
+            for (SpawnerInfo info : spawners)
+                backgroundHighlightSpawners.add(info.pos().asLong());
+        }
+        highlightRevision.incrementAndGet();
     }
 
-    public static void removeBackgroundHighlights(Set<Long> positions)
+    public static void removeBackgroundHighlights(LongHashSet positions)
     {
         if (positions == null || positions.isEmpty())
             return;
-        backgroundHighlightSpawners.removeIf(positions::contains);
+        synchronized (backgroundHighlightSpawners)
+        {
+            positions.forEach(backgroundHighlightSpawners::remove);
+        }
+        highlightRevision.incrementAndGet();
     }
 
     public static void clearBackgroundHighlights()
     {
-        backgroundHighlightSpawners.clear();
+        synchronized (backgroundHighlightSpawners)
+        {
+            backgroundHighlightSpawners.clear();
+        }
+        highlightRevision.incrementAndGet();
     }
 
     private static boolean isValidClusterId(int clusterId)
@@ -139,12 +164,12 @@ public class ClusterManager
         return highlightedClusterIds.contains(clusterId);
     }
 
-    private static List<SpawnerInfo> getBackgroundHighlightInfos(Set<Long> seen)
+    private static List<SpawnerInfo> getBackgroundHighlightInfos(LongHashSet seen)
     {
         if (isBackgroundHighlightingDisabled())
         {
             if (!backgroundHighlightSpawners.isEmpty())
-                backgroundHighlightSpawners.clear();
+                clearBackgroundHighlights();
             return Collections.emptyList();
         }
 
@@ -153,7 +178,7 @@ public class ClusterManager
         {
             backgroundHighlightSpawners.removeIf(packed ->
             {
-                SpawnerInfo info = BlockBank.get(BlockPos.of(packed));
+                SpawnerInfo info = BlockBank.get(packed);
                 if (info == null)
                     return true;
                 if (seen.add(packed))
@@ -165,7 +190,7 @@ public class ClusterManager
         return highlights;
     }
 
-    private static void addUnique(List<SpawnerInfo> source, List<SpawnerInfo> target, Set<Long> seen)
+    private static void addUnique(List<SpawnerInfo> source, List<SpawnerInfo> target, LongHashSet seen)
     {
         for (SpawnerInfo info : source)
         {
@@ -0,0 +1,35 @@
+package cc.hachem.spawnradar.core;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+final class OrderedScanResults
+{
+    private final List<SpawnerInfo>[] pending;
+    private final boolean[] completed;
+    private int publishedChunks;
+
+    @SuppressWarnings("unchecked")
+    OrderedScanResults(int chunkCount)
+    {
+        this.pending = new List[chunkCount];
+        this.completed = new boolean[chunkCount];
+    }
+
+    synchronized int complete(int index, List<SpawnerInfo> found, Consumer<SpawnerInfo> publisher)
+    {
+        pending[index] = found;
+        completed[index] = true;
+
+        int published = 0;
+        while (publishedChunks < completed.length && completed[publishedChunks])
+        {
+            List<SpawnerInfo> chunk = pending[publishedChunks];
+            pending[publishedChunks++] = null;
+            for (SpawnerInfo info : chunk)
+                publisher.accept(info);
+            published += chunk.size();
+        }
+        return published;
+    }
+}
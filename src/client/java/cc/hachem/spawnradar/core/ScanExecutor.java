@@ -0,0 +1,80 @@
+package cc.hachem.spawnradar.core;
+
+import cc.hachem.spawnradar.RadarClient;
+import cc.hachem.spawnradar.config.ConfigManager;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.ObjIntConsumer;
+
+final class ScanExecutor
+{
+    private static final long IDLE_TIMEOUT_SECONDS = 30;
+    private static final AtomicInteger THREAD_IDS = new AtomicInteger();
+    private static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(
+        1, 1, IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable ->
+        {
+            Thread thread = new Thread(runnable, "SpawnRadar-Scan-" + THREAD_IDS.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    static
+    {
+        EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
+    private ScanExecutor() {}
+
+    static <T> CompletableFuture<Void> forEachInOrder(List<T> items, ObjIntConsumer<T> action, BooleanSupplier cancelled)
+    {
+        int workers = Math.min(resize(resolveThreadCount()), items.size());
+        if (workers == 0)
+            return CompletableFuture.completedFuture(null);
+
+        AtomicInteger cursor = new AtomicInteger();
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[workers];
+        for (int i = 0; i < workers; i++)
+            futures[i] = CompletableFuture.runAsync(() -> drain(items, cursor, action, cancelled), EXECUTOR);
+
+        RadarClient.LOGGER.debug("Scheduled {} scan workers for {} work items.", workers, items.size());
+        return CompletableFuture.allOf(futures);
+    }
+
+    private static <T> void drain(List<T> items, AtomicInteger cursor, ObjIntConsumer<T> action, BooleanSupplier cancelled)
+    {
+        int index;
+        while (!cancelled.getAsBoolean() && (index = cursor.getAndIncrement()) < items.size())
+            action.accept(items.get(index), index);
+    }
+
+    private static synchronized int resize(int threads)
+    {
+        if (threads == EXECUTOR.getMaximumPoolSize())
+            return threads;
+
+        if (threads > EXECUTOR.getMaximumPoolSize())
+        {
+            EXECUTOR.setMaximumPoolSize(threads);
+            EXECUTOR.setCorePoolSize(threads);
+        }
+        else
+        {
+            EXECUTOR.setCorePoolSize(threads);
+            EXECUTOR.setMaximumPoolSize(threads);
+        }
+        RadarClient.LOGGER.debug("Resized scan executor to {} threads.", threads);
+        return threads;
+    }
+
+    private static int resolveThreadCount()
+    {
+        return RadarClient.config != null
+            ? RadarClient.config.resolveScanThreadCount()
+            : ConfigManager.DEFAULT.resolveScanThreadCount();
+    }
+}
@@ -0,0 +1,144 @@
+package cc.hachem.spawnradar.core;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class ScanJob
+{
+    public enum Phase
+    {
+        SCANNING("text.spawn_radar.scan_phase.scanning"),
+        CLUSTERING("text.spawn_radar.scan_phase.clustering"),
+        DONE("text.spawn_radar.scan_phase.done"),
+        CANCELLED("text.spawn_radar.scan_phase.cancelled");
+
+        private final String name;
+        Phase(String name) { this.name = name; }
+        public String toString() { return name; }
+    }
+
+    public record ScanProgress(Phase phase, int chunksScanned, int chunksTotal, int spawnersFound)
+    {
+        public float fraction()
+        {
+            return chunksTotal <= 0 ? 0.0f : Math.min(1.0f, (float) chunksScanned / chunksTotal);
+        }
+    }
+
+    private final CompletableFuture<List<SpawnerInfo>> result = new CompletableFuture<>();
+    private final AtomicInteger chunksScanned = new AtomicInteger();
+    private final AtomicInteger spawnersFound = new AtomicInteger();
+    private final AtomicBoolean partialUpdatePending = new AtomicBoolean();
+    private volatile long lastPartialUpdateNanos;
+    private volatile int chunksTotal;
+    private volatile Phase phase = Phase.SCANNING;
+
+    ScanJob() {}
+
+    public CompletableFuture<List<SpawnerInfo>> result()
+    {
+        return result;
+    }
+
+    public ScanProgress progress()
+    {
+        return new ScanProgress(phase, chunksScanned.get(), chunksTotal, spawnersFound.get());
+    }
+
+    public Phase phase()
+    {
+        return phase;
+    }
+
+    public boolean isCancelled()
+    {
+        return phase == Phase.CANCELLED;
+    }
+
+    public boolean isActive()
+    {
+        Phase current = phase;
+        return current == Phase.SCANNING || current == Phase.CLUSTERING;
+    }
+
+    public synchronized boolean cancel()
+    {
+        if (!isActive())
+            return false;
+        phase = Phase.CANCELLED;
+        result.cancel(false);
+        return true;
+    }
+
+    synchronized boolean cancelAndRun(Runnable action)
+    {
+        boolean cancelled = cancel();
+        action.run();
+        return cancelled;
+    }
+
+    synchronized boolean runIfActive(Runnable action)
+    {
+        if (!isActive())
+            return false;
+        action.run();
+        return true;
+    }
+
+    void setChunksTotal(int total)
+    {
+        chunksTotal = total;
+    }
+
+    void onChunkScanned()
+    {
+        chunksScanned.incrementAndGet();
+    }
+
+    void onSpawnerFound()
+    {
+        spawnersFound.incrementAndGet();
+    }
+
+    boolean claimPartialUpdate(long intervalNanos)
+    {
+        long now = System.nanoTime();
+        if (lastPartialUpdateNanos != 0 && now - lastPartialUpdateNanos < intervalNanos)
+            return false;
+        if (!partialUpdatePending.compareAndSet(false, true))
+            return false;
+        lastPartialUpdateNanos = now;
+        return true;
+    }
+
+    void releasePartialUpdate()
+    {
+        partialUpdatePending.set(false);
+    }
+
+    synchronized boolean beginClustering()
+    {
+        if (phase != Phase.SCANNING)
+            return false;
+        phase = Phase.CLUSTERING;
+        return true;
+    }
+
+    synchronized void complete(List<SpawnerInfo> spawners)
+    {
+        if (!isActive())
+            return;
+        phase = Phase.DONE;
+        result.complete(spawners);
+    }
+
+    synchronized void fail(Throwable error)
+    {
+        if (!isActive())
+            return;
+        phase = Phase.DONE;
+        result.completeExceptionally(error);
+    }
+}
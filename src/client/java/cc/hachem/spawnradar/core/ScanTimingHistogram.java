@@ -0,0 +1,68 @@
+package cc.hachem.spawnradar.core;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public final class ScanTimingHistogram
+{
+    private static final int BUCKETS = 16;
+    private static final long BASE_MICROS = 8;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLongArray totals = new AtomicLongArray(BUCKETS);
+
+    public void record(long nanos)
+    {
+        long micros = Math.max(0, nanos / 1_000);
+        int bucket = bucketOf(micros);
+        counts.incrementAndGet(bucket);
+        totals.addAndGet(bucket, micros);
+    }
+
+    public long count()
+    {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++)
+            count += counts.get(i);
+        return count;
+    }
+
+    public long totalMicros()
+    {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++)
+            total += totals.get(i);
+        return total;
+    }
+
+    public String format()
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            long count = counts.get(i);
+            if (count == 0)
+                continue;
+            if (!sb.isEmpty())
+                sb.append(", ");
+            if (i == BUCKETS - 1)
+                sb.append(">=").append(upperBound(i - 1));
+            else
+                sb.append("<").append(upperBound(i));
+            sb.append("us: ").append(count);
+        }
+        return sb.isEmpty() ? "empty" : sb.toString();
+    }
+
+    private static int bucketOf(long micros)
+    {
+        int bucket = 0;
+        while (bucket < BUCKETS - 1 && micros >= upperBound(bucket))
+            bucket++;
+        return bucket;
+    }
+
+    private static long upperBound(int bucket)
+    {
+        return BASE_MICROS << bucket;
+    }
+}
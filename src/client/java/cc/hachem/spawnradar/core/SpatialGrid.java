@@ -0,0 +1,83 @@
+package cc.hachem.spawnradar.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.minecraft.core.BlockPos;
+
+final class SpatialGrid
+{
+    private final int cellSize;
+    private final Map<Long, List<SpawnerInfo>> cells = new HashMap<>();
+
+    SpatialGrid(int cellSize)
+    {
+        this.cellSize = Math.max(1, cellSize);
+    }
+
+    SpatialGrid(int cellSize, Iterable<SpawnerInfo> spawners)
+    {
+        this(cellSize);
+        for (SpawnerInfo info : spawners)
+            add(info);
+    }
+
+    public int cellSize()
+    {
+        return cellSize;
+    }
+
+    public void add(SpawnerInfo info)
+    {
+        cells.computeIfAbsent(cellKey(info.pos()), ignored -> new ArrayList<>(4)).add(info);
+    }
+
+    public void remove(SpawnerInfo info)
+    {
+        long key = cellKey(info.pos());
+        List<SpawnerInfo> cell = cells.get(key);
+        if (cell == null)
+            return;
+
+        cell.removeIf(other -> other.pos().equals(info.pos()));
+        if (cell.isEmpty())
+            cells.remove(key);
+    }
+
+    public void clear()
+    {
+        cells.clear();
+    }
+
+    public List<SpawnerInfo> getWithin(BlockPos center, double radius)
+    {
+        List<SpawnerInfo> result = new ArrayList<>();
+        double radiusSq = radius * radius;
+        int reach = (int) Math.ceil(radius / cellSize);
+        int cellX = Math.floorDiv(center.getX(), cellSize);
+        int cellY = Math.floorDiv(center.getY(), cellSize);
+        int cellZ = Math.floorDiv(center.getZ(), cellSize);
+
+        for (int x = cellX - reach; x <= cellX + reach; x++)
+            for (int y = cellY - reach; y <= cellY + reach; y++)
+                for (int z = cellZ - reach; z <= cellZ + reach; z++)
+                {
+                    List<SpawnerInfo> cell = cells.get(BlockPos.asLong(x, y, z));
+                    if (cell == null)
+                        continue;
+                    for (SpawnerInfo info : cell)
+                        if (info.pos().distSqr(center) <= radiusSq)
+                            result.add(info);
+                }
+        return result;
+    }
+
+    private long cellKey(BlockPos pos)
+    {
+        return BlockPos.asLong(
+            Math.floorDiv(pos.getX(), cellSize),
+            Math.floorDiv(pos.getY(), cellSize),
+            Math.floorDiv(pos.getZ(), cellSize));
+    }
+}
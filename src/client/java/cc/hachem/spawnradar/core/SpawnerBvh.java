@@ -0,0 +1,155 @@
+package cc.hachem.spawnradar.core;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import net.minecraft.core.BlockPos;
+
+public final class SpawnerBvh
+{
+    @FunctionalInterface
+    public interface BoundsTest
+    {
+        boolean test(double minX, double minY, double minZ, double maxX, double maxY, double maxZ);
+    }
+
+    private static final int LEAF_SIZE = 4;
+    private static final int MAX_DEPTH = 64;
+    private static final List<Comparator<SpawnerInfo>> AXIS_ORDER = List.of(
+        Comparator.comparingInt(info -> info.pos().getX()),
+        Comparator.comparingInt(info -> info.pos().getY()),
+        Comparator.comparingInt(info -> info.pos().getZ())
+    );
+
+    private final SpawnerInfo[] spawners;
+    private final double margin;
+    private final double[] bounds;
+    private final int[] rightChild;
+    private final int[] firstItem;
+    private final int[] itemCount;
+    private final int[] stack = new int[MAX_DEPTH];
+    private int nodeCount;
+
+    private SpawnerBvh(SpawnerInfo[] spawners, double margin)
+    {
+        int maxNodes = Math.max(1, 2 * spawners.length);
+        this.spawners = spawners;
+        this.margin = margin;
+        this.bounds = new double[maxNodes * 6];
+        this.rightChild = new int[maxNodes];
+        this.firstItem = new int[maxNodes];
+        this.itemCount = new int[maxNodes];
+    }
+
+    public static SpawnerBvh build(List<SpawnerInfo> spawners, double margin)
+    {
+        SpawnerBvh bvh = new SpawnerBvh(spawners.toArray(new SpawnerInfo[0]), margin);
+        if (!spawners.isEmpty())
+            bvh.buildNode(0, bvh.spawners.length);
+        return bvh;
+    }
+
+    public int size()
+    {
+        return spawners.length;
+    }
+
+    public void forEachVisible(BoundsTest test, Consumer<SpawnerInfo> visitor)
+    {
+        if (nodeCount == 0)
+            return;
+
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0)
+        {
+            int node = stack[--top];
+            int offset = node * 6;
+            if (!test.test(bounds[offset], bounds[offset + 1], bounds[offset + 2],
+                           bounds[offset + 3], bounds[offset + 4], bounds[offset + 5]))
+                continue;
+
+            if (itemCount[node] > 0)
+            {
+                visitLeaf(node, test, visitor);
+                continue;
+            }
+
+            stack[top++] = rightChild[node];
+            stack[top++] = node + 1;
+        }
+    }
+
+    private void visitLeaf(int node, BoundsTest test, Consumer<SpawnerInfo> visitor)
+    {
+        int end = firstItem[node] + itemCount[node];
+        for (int i = firstItem[node]; i < end; i++)
+        {
+            BlockPos pos = spawners[i].pos();
+            if (test.test(pos.getX() - margin, pos.getY() - margin, pos.getZ() - margin,
+                          pos.getX() + 1 + margin, pos.getY() + 1 + margin, pos.getZ() + 1 + margin))
+                visitor.accept(spawners[i]);
+        }
+    }
+
+    private int buildNode(int start, int end)
+    {
+        int node = nodeCount++;
+        computeBounds(node, start, end);
+
+        int count = end - start;
+        if (count <= LEAF_SIZE)
+        {
+            firstItem[node] = start;
+            itemCount[node] = count;
+            return node;
+        }
+
+        Arrays.sort(spawners, start, end, AXIS_ORDER.get(longestAxis(node)));
+        int mid = (start + end) >>> 1;
+        buildNode(start, mid);
+        rightChild[node] = buildNode(mid, end);
+        return node;
+    }
+
+    private void computeBounds(int node, int start, int end)
+    {
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double minZ = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        double maxZ = Double.NEGATIVE_INFINITY;
+
+        for (int i = start; i < end; i++)
+        {
+            BlockPos pos = spawners[i].pos();
+            minX = Math.min(minX, pos.getX());
+            minY = Math.min(minY, pos.getY());
+            minZ = Math.min(minZ, pos.getZ());
+            maxX = Math.max(maxX, pos.getX() + 1);
+            maxY = Math.max(maxY, pos.getY() + 1);
+            maxZ = Math.max(maxZ, pos.getZ() + 1);
+        }
+
+        int offset = node * 6;
+        bounds[offset] = minX - margin;
+        bounds[offset + 1] = minY - margin;
+        bounds[offset + 2] = minZ - margin;
+        bounds[offset + 3] = maxX + margin;
+        bounds[offset + 4] = maxY + margin;
+        bounds[offset + 5] = maxZ + margin;
+    }
+
+    private int longestAxis(int node)
+    {
+        int offset = node * 6;
+        double spanX = bounds[offset + 3] - bounds[offset];
+        double spanY = bounds[offset + 4] - bounds[offset + 1];
+        double spanZ = bounds[offset + 5] - bounds[offset + 2];
+        if (spanX >= spanY && spanX >= spanZ)
+            return 0;
+        return spanY >= spanZ ? 1 : 2;
+    }
+}
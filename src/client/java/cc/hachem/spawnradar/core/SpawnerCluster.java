@@ -8,7 +8,7 @@ import cc.hachem.spawnradar.RadarClient;
 import cc.hachem.spawnradar.config.ConfigManager;
 import org.jetbrains.annotations.NotNull;
 
-public record SpawnerCluster(int id, List<SpawnerInfo> spawners, List<BlockPos> intersectionRegion)
+public record SpawnerCluster(int id, List<SpawnerInfo> spawners, VoxelRegion intersectionRegion)
 {
     public enum SortType
     {
@@ -39,60 +39,52 @@ public record SpawnerCluster(int id, List<SpawnerInfo> spawners, List<BlockPos>
         return dx * dx + dy * dy + dz * dz;
     }
 
-    private static boolean inSphere(BlockPos center, BlockPos pos, double radius)
-    {
-        return distanceSquared(center, pos.getX(), pos.getY(), pos.getZ()) <= radius * radius;
-    }
-
-    private static List<BlockPos> generateSphere(BlockPos center, double radius)
-    {
-        List<BlockPos> volume = new ArrayList<>();
-        int r = (int) Math.ceil(radius);
-        for (int x = center.getX() - r; x <= center.getX() + r; x++)
-            for (int y = center.getY() - r; y <= center.getY() + r; y++)
-                for (int z = center.getZ() - r; z <= center.getZ() + r; z++)
-                    if (inSphere(center, new BlockPos(x, y, z), radius))
-                        volume.add(new BlockPos(x, y, z));
-        return volume;
-    }
-
-    private static List<BlockPos> computeIntersectionRegion(BlockPos other, List<BlockPos> existingVolume, double radius)
-    {
-        List<BlockPos> result = new ArrayList<>();
-        for (BlockPos pos : existingVolume)
-            if (inSphere(other, pos, radius))
-                result.add(pos);
-        return result;
-    }
-
     public static List<SpawnerCluster> filterSubsets(List<SpawnerCluster> clusters)
     {
         clusters.sort((c1, c2) -> Integer.compare(c2.spawners().size(), c1.spawners().size()));
+
+        Map<Long, Integer> memberIds = new HashMap<>();
+        List<MemberBits> bits = new ArrayList<>(clusters.size());
+        List<List<Integer>> containing = new ArrayList<>();
+        for (int i = 0; i < clusters.size(); i++)
+        {
+            MemberBits memberBits = MemberBits.of(clusters.get(i), memberIds);
+            bits.add(memberBits);
+            while (containing.size() < memberIds.size())
+                containing.add(new ArrayList<>());
+            for (SpawnerInfo info : clusters.get(i).spawners())
+            {
+                List<Integer> owners = containing.get(memberIds.get(info.pos().asLong()));
+                if (owners.isEmpty() || owners.getLast() != i)
+                    owners.add(i);
+            }
+        }
+
         List<SpawnerCluster> filtered = new ArrayList<>();
         for (int i = 0; i < clusters.size(); i++)
         {
             SpawnerCluster current = clusters.get(i);
-            boolean isSubset = false;
-            Set<BlockPos> currentPositions = current.spawners().stream()
-                .map(SpawnerInfo::pos)
-                .collect(Collectors.toSet());
-
-            for (int j = 0; j < clusters.size(); j++)
+            int size = current.spawners().size();
+            List<Integer> candidates = null;
+            for (SpawnerInfo info : current.spawners())
             {
-                if (i == j)
-                    continue;
-                SpawnerCluster other = clusters.get(j);
-                if (other.spawners().size() <= current.spawners().size())
-                    continue;
-                Set<BlockPos> otherPositions = other.spawners().stream()
-                    .map(SpawnerInfo::pos)
-                    .collect(Collectors.toSet());
-                if (otherPositions.containsAll(currentPositions))
+                List<Integer> owners = containing.get(memberIds.get(info.pos().asLong()));
+                if (candidates == null || owners.size() < candidates.size())
+                    candidates = owners;
+            }
+
+            boolean isSubset = false;
+            if (candidates != null)
+                for (int j : candidates)
                 {
-                    isSubset = true;
-                    break;
+                    if (j == i || clusters.get(j).spawners().size() <= size)
+                        continue;
+                    if (bits.get(j).containsAll(bits.get(i)))
+                    {
+                        isSubset = true;
+                        break;
+                    }
                 }
-            }
 
             if (!isSubset)
                 filtered.add(current);
@@ -113,11 +105,7 @@ public record SpawnerCluster(int id, List<SpawnerInfo> spawners, List<BlockPos>
                 .sorted(Comparator.comparingDouble(info -> distanceSquared(info.pos(), px, py, pz)))
                 .collect(Collectors.toList());
 
-            List<BlockPos> sortedIntersection = cluster.intersectionRegion().stream()
-                .sorted(Comparator.comparingDouble(pos -> distanceSquared(pos, px, py, pz)))
-                .collect(Collectors.toList());
-
-            clusters.set(i, new SpawnerCluster(cluster.id(), sortedSpawners, sortedIntersection));
+            clusters.set(i, new SpawnerCluster(cluster.id(), sortedSpawners, cluster.intersectionRegion()));
         }
 
         clusters.sort(Comparator.comparingDouble(c -> distanceSquared(c.spawners().getFirst().pos(), px, py, pz)));
@@ -139,38 +127,59 @@ public record SpawnerCluster(int id, List<SpawnerInfo> spawners, List<BlockPos>
     public static List<SpawnerCluster> findClusters(LocalPlayer player, List<SpawnerInfo> spawners, double activationRadius, SortType sortType)
     {
         long startTime = System.nanoTime();
-        List<SpawnerCluster> clusters = new ArrayList<>();
-        Set<String> seen = new HashSet<>();
-        int nextId = 1;
-
-        for (SpawnerInfo center : spawners)
-        {
-            ClusterCandidate candidate = buildCluster(center, spawners, activationRadius);
-            if (candidate == null)
-                continue;
-
-            String key = clusterKey(candidate.members());
-            if (!seen.add(key))
-                continue;
-
-            clusters.add(new SpawnerCluster(nextId++, candidate.members(), candidate.intersection()));
-        }
-
-        appendSingletonClusters(spawners, clusters, nextId, activationRadius);
-        clusters = filterSubsets(clusters);
+        List<SpawnerCluster> clusters = ClusterEngine.findClusters(spawners, activationRadius);
 
         long endTime = System.nanoTime();
         RadarClient.LOGGER.info("Radial incremental clustering finished: {} clusters, took {} s", clusters.size(),
             (endTime - startTime) / 1_000_000_000.0);
 
+        sortClusters(player, clusters, sortType);
+        return clusters;
+    }
+
+    public static void sortClusters(LocalPlayer player, List<SpawnerCluster> clusters, SortType sortType)
+    {
         switch (sortType)
         {
             case BY_PROXIMITY -> sortClustersByProximity(player, clusters);
             case BY_SIZE -> sortClustersBySize(clusters);
             case NO_SORT -> {}
         }
+    }
 
-        return clusters;
+    private record MemberBits(int firstWord, long[] words)
+    {
+        static MemberBits of(SpawnerCluster cluster, Map<Long, Integer> memberIds)
+        {
+            int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+            int[] ids = new int[cluster.spawners().size()];
+            for (int i = 0; i < ids.length; i++)
+            {
+                ids[i] = memberIds.computeIfAbsent(cluster.spawners().get(i).pos().asLong(), ignored -> memberIds.size());
+                min = Math.min(min, ids[i]);
+                max = Math.max(max, ids[i]);
+            }
+            if (ids.length == 0)
+                return new MemberBits(0, new long[0]);
+
+            int firstWord = min >>> 6;
+            long[] words = new long[(max >>> 6) - firstWord + 1];
+            for (int id : ids)
+                words[(id >>> 6) - firstWord] |= 1L << id;
+            return new MemberBits(firstWord, words);
+        }
+
+        boolean containsAll(MemberBits other)
+        {
+            for (int i = 0; i < other.words.length; i++)
+            {
+                int index = other.firstWord + i - firstWord;
+                long mine = index >= 0 && index < words.length ? words[index] : 0L;
+                if ((other.words[i] & ~mine) != 0)
+                    return false;
+            }
+            return true;
+        }
     }
 
     @NotNull
@@ -187,79 +196,4 @@ public record SpawnerCluster(int id, List<SpawnerInfo> spawners, List<BlockPos>
         sb.append("]");
         return sb.toString();
     }
-
-    private static ClusterCandidate buildCluster(SpawnerInfo center, List<SpawnerInfo> spawners, double activationRadius)
-    {
-        List<SpawnerInfo> orderedNeighbors = sortedNeighbors(center, spawners);
-
-        List<SpawnerInfo> cluster = new ArrayList<>();
-        cluster.add(center);
-        List<BlockPos> intersection = generateSphere(center.pos(), activationRadius);
-
-        for (SpawnerInfo other : orderedNeighbors)
-        {
-            BlockPos otherPos = other.pos();
-            if (!spheresIntersect(center.pos(), otherPos, activationRadius))
-                break;
-
-            List<BlockPos> newIntersection = computeIntersectionRegion(otherPos, intersection, activationRadius);
-            if (newIntersection.isEmpty())
-                break;
-
-            cluster.add(other);
-            intersection = newIntersection;
-        }
-
-        if (cluster.size() <= 1)
-            return null;
-
-        cluster.sort(Comparator.<SpawnerInfo>comparingInt(info -> info.pos().getX())
-                          .thenComparingInt(info -> info.pos().getY())
-                          .thenComparingInt(info -> info.pos().getZ()));
-
-        return new ClusterCandidate(cluster, intersection);
-    }
-
-    private static List<SpawnerInfo> sortedNeighbors(SpawnerInfo center, List<SpawnerInfo> spawners)
-    {
-        List<SpawnerInfo> others = new ArrayList<>(spawners);
-        others.remove(center);
-
-        final long cx = center.pos().getX();
-        final long cy = center.pos().getY();
-        final long cz = center.pos().getZ();
-
-        others.sort(Comparator.comparingLong(info ->
-        {
-            BlockPos pos = info.pos();
-            long dx = pos.getX() - cx;
-            long dy = pos.getY() - cy;
-            long dz = pos.getZ() - cz;
-            return dx * dx + dy * dy + dz * dz;
-        }));
-
-        return others;
-    }
-
-    private static void appendSingletonClusters(List<SpawnerInfo> spawners, List<SpawnerCluster> clusters, int nextId, double activationRadius)
-    {
-        for (SpawnerInfo spawner : spawners)
-        {
-            boolean alreadyIncluded = clusters.stream()
-                .anyMatch(c -> c.spawners().stream().anyMatch(info -> info.pos().equals(spawner.pos())));
-            if (alreadyIncluded)
-                continue;
-
-            clusters.add(new SpawnerCluster(nextId++, List.of(spawner), generateSphere(spawner.pos(), activationRadius)));
-        }
-    }
-
-    private static String clusterKey(List<SpawnerInfo> cluster)
-    {
-        return cluster.stream()
-            .map(info -> info.pos().getX() + "," + info.pos().getY() + "," + info.pos().getZ())
-            .collect(Collectors.joining(";"));
-    }
-
-    private record ClusterCandidate(List<SpawnerInfo> members, List<BlockPos> intersection) {}
 }
@@ -0,0 +1,329 @@
+package cc.hachem.spawnradar.core;
+
+import cc.hachem.spawnradar.RadarClient;
+import cc.hachem.spawnradar.collections.LongHashSet;
+import cc.hachem.spawnradar.config.ConfigManager;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ServerData;
+import net.minecraft.client.player.LocalPlayer;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+
+public final class SpawnerDatabase
+{
+    private static final long LAST_SEEN_REFRESH_TICKS = 6000;
+    private static final Comparator<SpawnerDatabaseFile.StoredSpawner> BY_POSITION =
+        Comparator.comparingLong(SpawnerDatabaseFile.StoredSpawner::pos);
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable ->
+    {
+        Thread thread = new Thread(runnable, "SpawnRadar-Database");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final LongHashSet loadedChunks = new LongHashSet();
+
+    private static volatile SpawnerDatabaseFile file;
+    private static volatile Level attachedWorld;
+    private static volatile Map<Long, List<SpawnerInfo>> chunks = new ConcurrentHashMap<>();
+    private static volatile boolean hasStoredChunks;
+    private static long prefetchedChunk = Long.MIN_VALUE;
+
+    private SpawnerDatabase() {}
+
+    public static void init()
+    {
+        ClientTickEvents.END_CLIENT_TICK.register(client ->
+        {
+            attach(client, isEnabled() ? client.level : null);
+            prefetchAround(client.player);
+        });
+        ClientLifecycleEvents.CLIENT_STOPPING.register(client -> shutdown());
+    }
+
+    public static void close()
+    {
+        attachedWorld = null;
+        chunks = new ConcurrentHashMap<>();
+        hasStoredChunks = false;
+        prefetchedChunk = Long.MIN_VALUE;
+        WRITER.execute(SpawnerDatabase::closeFile);
+    }
+
+    public static boolean hasEntries()
+    {
+        return hasStoredChunks || !chunks.isEmpty();
+    }
+
+    public static void record(Level world, long chunkKey, List<SpawnerInfo> spawners)
+    {
+        if (world == null || world != attachedWorld)
+            return;
+
+        Map<Long, List<SpawnerInfo>> known = chunks;
+        List<SpawnerInfo> recorded = List.copyOf(spawners);
+        long tick = world.getGameTime();
+        List<SpawnerDatabaseFile.StoredSpawner> stored = new ArrayList<>(spawners.size());
+        for (SpawnerInfo info : spawners)
+            stored.add(new SpawnerDatabaseFile.StoredSpawner(info.pos().asLong(), tick, entityTypeId(info.entityType())));
+        stored.sort(BY_POSITION);
+
+        WRITER.execute(() -> store(world, known, chunkKey, recorded, stored));
+    }
+
+    public static List<SpawnerInfo> getWithinChunkRadius(BlockPos center, int chunkRadius, LongHashSet skipChunks)
+    {
+        requestRange(center, chunkRadius);
+        Map<Long, List<SpawnerInfo>> known = chunks;
+        if (known.isEmpty())
+            return List.of();
+
+        int half = Math.max(0, chunkRadius / 2);
+        int centerChunkX = center.getX() >> 4;
+        int centerChunkZ = center.getZ() >> 4;
+        List<SpawnerInfo> result = new ArrayList<>();
+        for (int chunkX = centerChunkX - half; chunkX <= centerChunkX + half; chunkX++)
+            for (int chunkZ = centerChunkZ - half; chunkZ <= centerChunkZ + half; chunkZ++)
+            {
+                long chunkKey = ChunkPos.asLong(chunkX, chunkZ);
+                if (skipChunks.contains(chunkKey))
+                    continue;
+                List<SpawnerInfo> stored = known.get(chunkKey);
+                if (stored != null)
+                    result.addAll(stored);
+            }
+        return result;
+    }
+
+    private static void attach(Minecraft client, Level world)
+    {
+        if (world == attachedWorld)
+            return;
+        if (attachedWorld != null)
+            close();
+        if (world == null)
+            return;
+
+        attachedWorld = world;
+        chunks = new ConcurrentHashMap<>();
+        Path directory = resolveDirectory(client, world);
+        WRITER.execute(() ->
+        {
+            if (attachedWorld != world)
+                return;
+            try
+            {
+                file = SpawnerDatabaseFile.open(directory);
+                hasStoredChunks = !file.isEmpty();
+                RadarClient.LOGGER.info("Opened spawner database at {}", directory);
+            }
+            catch (IOException e)
+            {
+                RadarClient.LOGGER.error("Failed to open spawner database at {}: {}", directory, e.getMessage());
+            }
+        });
+    }
+
+    private static void prefetchAround(LocalPlayer player)
+    {
+        if (player == null || attachedWorld == null)
+            return;
+
+        long chunk = player.chunkPosition().toLong();
+        if (chunk == prefetchedChunk)
+            return;
+        prefetchedChunk = chunk;
+        requestRange(player.blockPosition(), resolveSearchRadius());
+    }
+
+    private static void requestRange(BlockPos center, int chunkRadius)
+    {
+        Level world = attachedWorld;
+        if (world == null)
+            return;
+
+        Map<Long, List<SpawnerInfo>> known = chunks;
+        int half = Math.max(0, chunkRadius / 2);
+        int centerChunkX = center.getX() >> 4;
+        int centerChunkZ = center.getZ() >> 4;
+        WRITER.execute(() -> loadRange(world, known, centerChunkX - half, centerChunkX + half,
+                                       centerChunkZ - half, centerChunkZ + half));
+    }
+
+    private static void loadRange(Level world, Map<Long, List<SpawnerInfo>> known,
+                                  int minChunkX, int maxChunkX, int minChunkZ, int maxChunkZ)
+    {
+        SpawnerDatabaseFile current = file;
+        if (current == null || world != attachedWorld)
+            return;
+
+        int loaded = 0;
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++)
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++)
+            {
+                long chunkKey = ChunkPos.asLong(chunkX, chunkZ);
+                if (loadedChunks.add(chunkKey) && load(current, known, chunkKey))
+                    loaded++;
+            }
+
+        if (loaded > 0)
+            RadarClient.LOGGER.debug("Loaded {} stored spawner chunks", loaded);
+    }
+
+    private static boolean load(SpawnerDatabaseFile source, Map<Long, List<SpawnerInfo>> known, long chunkKey)
+    {
+        try
+        {
+            List<SpawnerDatabaseFile.StoredSpawner> stored = source.read(chunkKey);
+            if (stored == null || stored.isEmpty())
+                return false;
+
+            List<SpawnerInfo> spawners = new ArrayList<>(stored.size());
+            for (SpawnerDatabaseFile.StoredSpawner spawner : stored)
+                spawners.add(new SpawnerInfo(BlockPos.of(spawner.pos()), resolveEntityType(spawner.entityTypeId())));
+            known.put(chunkKey, List.copyOf(spawners));
+            return true;
+        }
+        catch (IOException e)
+        {
+            RadarClient.LOGGER.warn("Failed to load stored spawners for chunk {}: {}", chunkKey, e.getMessage());
+            return false;
+        }
+    }
+
+    private static void store(Level world, Map<Long, List<SpawnerInfo>> known, long chunkKey,
+                              List<SpawnerInfo> recorded, List<SpawnerDatabaseFile.StoredSpawner> spawners)
+    {
+        if (world != attachedWorld)
+            return;
+
+        loadedChunks.add(chunkKey);
+        if (recorded.isEmpty())
+            known.remove(chunkKey);
+        else
+            known.put(chunkKey, recorded);
+
+        SpawnerDatabaseFile current = file;
+        if (current == null)
+            return;
+        try
+        {
+            if (current.write(chunkKey, spawners, SpawnerDatabase::isUnchanged))
+                hasStoredChunks = true;
+        }
+        catch (IOException e)
+        {
+            RadarClient.LOGGER.warn("Failed to store spawners for chunk {}: {}", chunkKey, e.getMessage());
+        }
+    }
+
+    private static boolean isUnchanged(List<SpawnerDatabaseFile.StoredSpawner> previous,
+                                       List<SpawnerDatabaseFile.StoredSpawner> current)
+    {
+        if (previous.size() != current.size())
+            return false;
+        for (int i = 0; i < previous.size(); i++)
+        {
+            SpawnerDatabaseFile.StoredSpawner before = previous.get(i);
+            SpawnerDatabaseFile.StoredSpawner after = current.get(i);
+            if (before.pos() != after.pos() || !before.entityTypeId().equals(after.entityTypeId()))
+                return false;
+            if (after.lastSeenTick() - before.lastSeenTick() >= LAST_SEEN_REFRESH_TICKS)
+                return false;
+        }
+        return true;
+    }
+
+    private static void closeFile()
+    {
+        SpawnerDatabaseFile current = file;
+        file = null;
+        loadedChunks.clear();
+        if (current == null)
+            return;
+        try
+        {
+            current.close();
+        }
+        catch (IOException e)
+        {
+            RadarClient.LOGGER.warn("Failed to close spawner database: {}", e.getMessage());
+        }
+    }
+
+    private static void shutdown()
+    {
+        close();
+        WRITER.shutdown();
+        try
+        {
+            if (!WRITER.awaitTermination(5, TimeUnit.SECONDS))
+                RadarClient.LOGGER.warn("Timed out flushing the spawner database.");
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Path resolveDirectory(Minecraft client, Level world)
+    {
+        return FabricLoader.getInstance().getGameDir()
+            .resolve("spawn_radar")
+            .resolve(sanitize(resolveServerKey(client)))
+            .resolve(sanitize(world.dimension().identifier().toString()));
+    }
+
+    private static String resolveServerKey(Minecraft client)
+    {
+        if (client.getSingleplayerServer() != null)
+            return "singleplayer_" + client.getSingleplayerServer().getWorldData().getLevelName();
+        ServerData server = client.getCurrentServer();
+        return server != null ? "server_" + server.ip : "unknown";
+    }
+
+    private static String sanitize(String name)
+    {
+        return name.toLowerCase().replaceAll("[^a-z0-9._-]", "_");
+    }
+
+    private static String entityTypeId(EntityType<?> type)
+    {
+        return type == null ? "" : BuiltInRegistries.ENTITY_TYPE.getKey(type).toString();
+    }
+
+    private static EntityType<?> resolveEntityType(String id)
+    {
+        return id.isEmpty() ? null : EntityType.byString(id).orElse(null);
+    }
+
+    private static int resolveSearchRadius()
+    {
+        return RadarClient.config != null
+            ? RadarClient.config.defaultSearchRadius
+            : ConfigManager.DEFAULT.defaultSearchRadius;
+    }
+
+    private static boolean isEnabled()
+    {
+        return RadarClient.config != null
+            ? RadarClient.config.persistSpawnerDatabase
+            : ConfigManager.DEFAULT.persistSpawnerDatabase;
+    }
+}
@@ -0,0 +1,415 @@
+package cc.hachem.spawnradar.core;
+
+import cc.hachem.spawnradar.RadarClient;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+final class SpawnerDatabaseFile implements AutoCloseable
+{
+    record StoredSpawner(long pos, long lastSeenTick, String entityTypeId) {}
+
+    private static final int JOURNAL_MAGIC = 0x53524A4C;
+    private static final int INDEX_MAGIC = 0x53524958;
+    private static final int VERSION = 1;
+    private static final int JOURNAL_HEADER_BYTES = 8;
+    private static final int INDEX_HEADER_BYTES = 28;
+    private static final int INDEX_ENTRY_BYTES = 16;
+    private static final int RECORD_HEADER_BYTES = 16;
+    private static final int MAX_RECORD_BYTES = 1 << 20;
+
+    private final Path journalPath;
+    private final Path indexPath;
+    private final FileChannel journal;
+    private final Map<Long, Long> appended = new HashMap<>();
+    private ByteBuffer index;
+    private int indexCount;
+    private long journalLength;
+    private long liveBytes;
+
+    private SpawnerDatabaseFile(Path journalPath, Path indexPath, FileChannel journal)
+    {
+        this.journalPath = journalPath;
+        this.indexPath = indexPath;
+        this.journal = journal;
+    }
+
+    static SpawnerDatabaseFile open(Path directory) throws IOException
+    {
+        Files.createDirectories(directory);
+        Path journalPath = directory.resolve("spawners.dat");
+        Path indexPath = directory.resolve("spawners.idx");
+        FileChannel journal = FileChannel.open(journalPath,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        SpawnerDatabaseFile file = new SpawnerDatabaseFile(journalPath, indexPath, journal);
+        try
+        {
+            file.initialize();
+        }
+        catch (IOException | RuntimeException e)
+        {
+            journal.close();
+            throw e;
+        }
+        return file;
+    }
+
+    synchronized List<StoredSpawner> read(long chunkKey) throws IOException
+    {
+        long offset = findOffset(chunkKey);
+        return offset < 0 ? null : readRecord(offset);
+    }
+
+    synchronized boolean isEmpty()
+    {
+        return indexCount == 0 && appended.isEmpty();
+    }
+
+    synchronized boolean write(long chunkKey, List<StoredSpawner> spawners,
+                               BiPredicate<List<StoredSpawner>, List<StoredSpawner>> unchanged) throws IOException
+    {
+        List<StoredSpawner> previous = read(chunkKey);
+        if (previous == null ? spawners.isEmpty() : unchanged.test(previous, spawners))
+            return false;
+        if (previous != null)
+            liveBytes -= recordSize(previous);
+
+        byte[] record = encode(chunkKey, spawners);
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        long position = journalLength;
+        while (buffer.hasRemaining())
+            position += journal.write(buffer, position);
+
+        appended.put(chunkKey, journalLength);
+        journalLength = position;
+        liveBytes += record.length;
+        return true;
+    }
+
+    @Override
+    public synchronized void close() throws IOException
+    {
+        long[][] offsets = collectOffsets();
+        Path compacted = null;
+        try
+        {
+            journal.force(false);
+            if (shouldCompact())
+                compacted = compact(offsets);
+        }
+        finally
+        {
+            index = null;
+            journal.close();
+        }
+
+        if (compacted != null)
+            move(compacted, journalPath);
+        if (compacted != null || !appended.isEmpty())
+            writeIndex(offsets);
+    }
+
+    private void initialize() throws IOException
+    {
+        long size = journal.size();
+        if (size < JOURNAL_HEADER_BYTES)
+        {
+            ByteBuffer header = ByteBuffer.allocate(JOURNAL_HEADER_BYTES).putInt(JOURNAL_MAGIC).putInt(VERSION).flip();
+            journal.truncate(0);
+            journal.write(header, 0);
+            journalLength = JOURNAL_HEADER_BYTES;
+            Files.deleteIfExists(indexPath);
+            return;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(JOURNAL_HEADER_BYTES);
+        journal.read(header, 0);
+        header.flip();
+        if (header.getInt() != JOURNAL_MAGIC || header.getInt() != VERSION)
+            throw new IOException("Unsupported spawner journal format in " + journalPath);
+
+        journalLength = size;
+        if (!loadIndex(size))
+            rebuildIndex();
+    }
+
+    private boolean loadIndex(long expectedJournalLength) throws IOException
+    {
+        if (!Files.exists(indexPath))
+            return false;
+
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ))
+        {
+            long size = channel.size();
+            if (size < INDEX_HEADER_BYTES || size > Integer.MAX_VALUE)
+                return false;
+
+            ByteBuffer header = ByteBuffer.allocate(INDEX_HEADER_BYTES);
+            while (header.hasRemaining())
+                if (channel.read(header, header.position()) < 0)
+                    return false;
+            if (header.getInt(0) != INDEX_MAGIC || header.getInt(4) != VERSION
+                || header.getLong(8) != expectedJournalLength)
+                return false;
+
+            int count = header.getInt(24);
+            if ((long) count * INDEX_ENTRY_BYTES + INDEX_HEADER_BYTES != size)
+                return false;
+
+            ByteBuffer loaded = ByteBuffer.allocate((int) size);
+            while (loaded.hasRemaining())
+                if (channel.read(loaded, loaded.position()) < 0)
+                    return false;
+
+            index = loaded;
+            indexCount = count;
+            liveBytes = header.getLong(16);
+            return true;
+        }
+    }
+
+    private void rebuildIndex() throws IOException
+    {
+        Map<Long, Long> offsets = new HashMap<>();
+        Map<Long, Integer> lengths = new HashMap<>();
+        long position = JOURNAL_HEADER_BYTES;
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+        while (position + RECORD_HEADER_BYTES <= journalLength)
+        {
+            header.clear();
+            journal.read(header, position);
+            header.flip();
+            int length = header.getInt();
+            long chunkKey = header.getLong();
+            if (length < RECORD_HEADER_BYTES || length > MAX_RECORD_BYTES || position + length > journalLength)
+                break;
+            offsets.put(chunkKey, position);
+            lengths.put(chunkKey, length);
+            position += length;
+        }
+
+        if (position != journalLength)
+        {
+            RadarClient.LOGGER.warn("Truncating {} trailing bytes from spawner journal {}", journalLength - position, journalPath);
+            journal.truncate(position);
+            journalLength = position;
+        }
+
+        index = null;
+        indexCount = 0;
+        liveBytes = 0;
+        for (int length : lengths.values())
+            liveBytes += length;
+        appended.clear();
+        appended.putAll(offsets);
+        RadarClient.LOGGER.info("Rebuilt spawner index for {} ({} chunks)", journalPath, offsets.size());
+        try
+        {
+            writeIndex(collectOffsets());
+            if (loadIndex(journalLength))
+                appended.clear();
+        }
+        catch (IOException e)
+        {
+            RadarClient.LOGGER.warn("Unable to write spawner index {}: {}", indexPath, e.getMessage());
+        }
+    }
+
+    private boolean shouldCompact()
+    {
+        long deadBytes = journalLength - JOURNAL_HEADER_BYTES - liveBytes;
+        return deadBytes > 64 * 1024 && deadBytes > liveBytes;
+    }
+
+    private Path compact(long[][] offsets) throws IOException
+    {
+        Path compactPath = journalPath.resolveSibling("spawners.dat.tmp");
+        long[] keys = new long[offsets[0].length];
+        long[] compactedOffsets = new long[offsets[0].length];
+        int kept = 0;
+        try (FileChannel target = FileChannel.open(compactPath,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))
+        {
+            long position = target.write(ByteBuffer.allocate(JOURNAL_HEADER_BYTES).putInt(JOURNAL_MAGIC).putInt(VERSION).flip());
+            ByteBuffer lengthBuffer = ByteBuffer.allocate(4);
+            liveBytes = 0;
+            for (int i = 0; i < offsets[0].length; i++)
+            {
+                lengthBuffer.clear();
+                journal.read(lengthBuffer, offsets[1][i]);
+                int length = lengthBuffer.flip().getInt();
+                if (length <= RECORD_HEADER_BYTES)
+                    continue;
+
+                keys[kept] = offsets[0][i];
+                compactedOffsets[kept++] = position;
+                long transferred = 0;
+                while (transferred < length)
+                    transferred += journal.transferTo(offsets[1][i] + transferred, length - transferred, target);
+                position += length;
+                liveBytes += length;
+            }
+            target.force(false);
+            journalLength = position;
+        }
+
+        offsets[0] = Arrays.copyOf(keys, kept);
+        offsets[1] = Arrays.copyOf(compactedOffsets, kept);
+        RadarClient.LOGGER.debug("Compacted spawner journal {} to {} bytes", journalPath, journalLength);
+        return compactPath;
+    }
+
+    private void writeIndex(long[][] offsets) throws IOException
+    {
+        int count = offsets[0].length;
+        ByteBuffer buffer = ByteBuffer.allocate(INDEX_HEADER_BYTES + count * INDEX_ENTRY_BYTES);
+        buffer.putInt(INDEX_MAGIC).putInt(VERSION).putLong(journalLength).putLong(liveBytes).putInt(count);
+        for (int i = 0; i < count; i++)
+            buffer.putLong(offsets[0][i]).putLong(offsets[1][i]);
+        buffer.flip();
+
+        Path temp = indexPath.resolveSibling("spawners.idx.tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))
+        {
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+            channel.force(false);
+        }
+        move(temp, indexPath);
+    }
+
+    private long[][] collectOffsets()
+    {
+        Map<Long, Long> merged = new HashMap<>(indexCount + appended.size());
+        for (int i = 0; i < indexCount; i++)
+            merged.put(indexKey(i), indexOffset(i));
+        merged.putAll(appended);
+
+        long[] keys = new long[merged.size()];
+        int size = 0;
+        for (long key : merged.keySet())
+            keys[size++] = key;
+        Arrays.sort(keys);
+
+        long[] offsets = new long[keys.length];
+        for (int i = 0; i < keys.length; i++)
+            offsets[i] = merged.get(keys[i]);
+        return new long[][] {keys, offsets};
+    }
+
+    private long findOffset(long chunkKey)
+    {
+        Long appendedOffset = appended.get(chunkKey);
+        if (appendedOffset != null)
+            return appendedOffset;
+
+        int low = 0, high = indexCount - 1;
+        while (low <= high)
+        {
+            int middle = (low + high) >>> 1;
+            long key = indexKey(middle);
+            if (key < chunkKey)
+                low = middle + 1;
+            else if (key > chunkKey)
+                high = middle - 1;
+            else
+                return indexOffset(middle);
+        }
+        return -1;
+    }
+
+    private long indexKey(int entry)
+    {
+        return index.getLong(INDEX_HEADER_BYTES + entry * INDEX_ENTRY_BYTES);
+    }
+
+    private long indexOffset(int entry)
+    {
+        return index.getLong(INDEX_HEADER_BYTES + entry * INDEX_ENTRY_BYTES + 8);
+    }
+
+    private List<StoredSpawner> readRecord(long offset) throws IOException
+    {
+        ByteBuffer lengthBuffer = ByteBuffer.allocate(4);
+        journal.read(lengthBuffer, offset);
+        int length = lengthBuffer.flip().getInt();
+        if (length < RECORD_HEADER_BYTES || length > MAX_RECORD_BYTES)
+            throw new IOException("Corrupt spawner record at " + offset + " in " + journalPath);
+
+        ByteBuffer record = ByteBuffer.allocate(length);
+        while (record.hasRemaining())
+            if (journal.read(record, offset + record.position()) < 0)
+                throw new IOException("Truncated spawner record at " + offset + " in " + journalPath);
+        record.flip();
+        record.position(RECORD_HEADER_BYTES - 4);
+
+        int count = record.getInt();
+        List<StoredSpawner> spawners = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+        {
+            long pos = record.getLong();
+            long lastSeen = record.getLong();
+            byte[] type = new byte[record.getShort() & 0xFFFF];
+            record.get(type);
+            spawners.add(new StoredSpawner(pos, lastSeen, new String(type, StandardCharsets.UTF_8)));
+        }
+        return spawners;
+    }
+
+    private static byte[] encode(long chunkKey, List<StoredSpawner> spawners) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(RECORD_HEADER_BYTES + spawners.size() * 32);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0);
+        out.writeLong(chunkKey);
+        out.writeInt(spawners.size());
+        for (StoredSpawner spawner : spawners)
+        {
+            byte[] type = spawner.entityTypeId().getBytes(StandardCharsets.UTF_8);
+            out.writeLong(spawner.pos());
+            out.writeLong(spawner.lastSeenTick());
+            out.writeShort(type.length);
+            out.write(type);
+        }
+
+        byte[] record = bytes.toByteArray();
+        ByteBuffer.wrap(record).putInt(0, record.length);
+        return record;
+    }
+
+    private static long recordSize(List<StoredSpawner> spawners)
+    {
+        long size = RECORD_HEADER_BYTES;
+        for (StoredSpawner spawner : spawners)
+            size += 18 + spawner.entityTypeId().getBytes(StandardCharsets.UTF_8).length;
+        return size;
+    }
+
+    private static void move(Path source, Path target) throws IOException
+    {
+        try
+        {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (AtomicMoveNotSupportedException e)
+        {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
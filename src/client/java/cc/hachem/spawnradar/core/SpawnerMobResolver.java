@@ -0,0 +1,69 @@
+package cc.hachem.spawnradar.core;
+
+import cc.hachem.spawnradar.mixin.BaseSpawnerAccessor;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.SpawnData;
+import net.minecraft.world.level.block.entity.SpawnerBlockEntity;
+
+public final class SpawnerMobResolver
+{
+    private static final Map<Long, EntityType<?>> resolved = new ConcurrentHashMap<>();
+
+    private SpawnerMobResolver() {}
+
+    public static EntityType<?> resolve(Level world, BlockPos pos, SpawnerBlockEntity spawner)
+    {
+        long packed = pos.asLong();
+        EntityType<?> cached = resolved.get(packed);
+        if (cached != null)
+            return cached;
+
+        EntityType<?> type = entityTypeOf(spawnDataEntityId(spawner));
+        if (type == null)
+            type = readDisplayEntityType(world, pos, spawner);
+        if (type != null)
+            resolved.put(packed, type);
+        return type;
+    }
+
+    public static String spawnDataEntityId(SpawnerBlockEntity spawner)
+    {
+        SpawnData spawnData = ((BaseSpawnerAccessor) spawner.getSpawner()).spawnRadar$getNextSpawnData();
+        return spawnData != null ? spawnData.entityToSpawn().getStringOr("id", "") : "";
+    }
+
+    public static EntityType<?> entityTypeOf(String entityId)
+    {
+        return entityId.isEmpty() ? null : EntityType.byString(entityId).orElse(null);
+    }
+
+    public static void invalidate(BlockPos pos)
+    {
+        resolved.remove(pos.asLong());
+    }
+
+    public static void invalidateChunk(long chunkKey)
+    {
+        int chunkX = ChunkPos.getX(chunkKey);
+        int chunkZ = ChunkPos.getZ(chunkKey);
+        resolved.keySet().removeIf(packed ->
+            BlockPos.getX(packed) >> 4 == chunkX && BlockPos.getZ(packed) >> 4 == chunkZ);
+    }
+
+    public static void clear()
+    {
+        resolved.clear();
+    }
+
+    private static EntityType<?> readDisplayEntityType(Level world, BlockPos pos, SpawnerBlockEntity spawner)
+    {
+        Entity renderedEntity = spawner.getSpawner().getOrCreateDisplayEntity(world, pos);
+        return renderedEntity != null ? renderedEntity.getType() : null;
+    }
+}
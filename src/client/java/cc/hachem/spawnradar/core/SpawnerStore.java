@@ -0,0 +1,164 @@
+package cc.hachem.spawnradar.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.ChunkPos;
+
+final class SpawnerStore
+{
+    private final Map<Long, SpawnerInfo> index = new ConcurrentHashMap<>();
+    private final Map<Long, SpawnerInfo> ordered = new LinkedHashMap<>();
+    private final Map<Long, Map<Long, SpawnerInfo>> chunks = new HashMap<>();
+    private volatile List<SpawnerInfo> snapshot = Collections.emptyList();
+    private SpatialGrid grid;
+
+    public synchronized void put(SpawnerInfo info)
+    {
+        long packed = info.pos().asLong();
+        SpawnerInfo previous = index.put(packed, info);
+        ordered.put(packed, info);
+        chunks.computeIfAbsent(chunkKey(info.pos()), ignored -> new HashMap<>()).put(packed, info);
+        if (grid != null)
+        {
+            if (previous != null)
+                grid.remove(previous);
+            grid.add(info);
+        }
+        snapshot = null;
+    }
+
+    public SpawnerInfo get(long packed)
+    {
+        return index.get(packed);
+    }
+
+    public boolean isEmpty()
+    {
+        return index.isEmpty();
+    }
+
+    public int size()
+    {
+        return index.size();
+    }
+
+    public synchronized void remove(long packed)
+    {
+        SpawnerInfo removed = index.remove(packed);
+        if (removed == null)
+            return;
+
+        ordered.remove(packed);
+        long chunkKey = chunkKey(removed.pos());
+        Map<Long, SpawnerInfo> bucket = chunks.get(chunkKey);
+        if (bucket != null)
+        {
+            bucket.remove(packed);
+            if (bucket.isEmpty())
+                chunks.remove(chunkKey);
+        }
+        if (grid != null)
+            grid.remove(removed);
+        snapshot = null;
+    }
+
+    public synchronized int removeIf(Predicate<SpawnerInfo> filter)
+    {
+        List<Long> doomed = new ArrayList<>();
+        for (Map.Entry<Long, SpawnerInfo> entry : ordered.entrySet())
+            if (filter.test(entry.getValue()))
+                doomed.add(entry.getKey());
+
+        for (long packed : doomed)
+            remove(packed);
+        return doomed.size();
+    }
+
+    public synchronized List<SpawnerInfo> removeChunk(long chunkKey)
+    {
+        Map<Long, SpawnerInfo> bucket = chunks.remove(chunkKey);
+        if (bucket == null)
+            return Collections.emptyList();
+
+        for (Map.Entry<Long, SpawnerInfo> entry : bucket.entrySet())
+        {
+            index.remove(entry.getKey());
+            ordered.remove(entry.getKey());
+            if (grid != null)
+                grid.remove(entry.getValue());
+        }
+        snapshot = null;
+        return new ArrayList<>(bucket.values());
+    }
+
+    public synchronized void clear()
+    {
+        index.clear();
+        ordered.clear();
+        chunks.clear();
+        if (grid != null)
+            grid.clear();
+        snapshot = Collections.emptyList();
+    }
+
+    public List<SpawnerInfo> snapshot()
+    {
+        List<SpawnerInfo> current = snapshot;
+        if (current != null)
+            return current;
+
+        synchronized (this)
+        {
+            if (snapshot == null)
+                snapshot = Collections.unmodifiableList(new ArrayList<>(ordered.values()));
+            return snapshot;
+        }
+    }
+
+    public synchronized List<SpawnerInfo> getWithinChunks(int minChunkX, int maxChunkX, int minChunkZ, int maxChunkZ)
+    {
+        List<SpawnerInfo> result = new ArrayList<>();
+        long area = (long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1);
+
+        if (area <= chunks.size())
+        {
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++)
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++)
+                {
+                    Map<Long, SpawnerInfo> bucket = chunks.get(ChunkPos.asLong(chunkX, chunkZ));
+                    if (bucket != null)
+                        result.addAll(bucket.values());
+                }
+            return result;
+        }
+
+        for (Map.Entry<Long, Map<Long, SpawnerInfo>> entry : chunks.entrySet())
+        {
+            long key = entry.getKey();
+            int chunkX = ChunkPos.getX(key);
+            int chunkZ = ChunkPos.getZ(key);
+            if (chunkX >= minChunkX && chunkX <= maxChunkX && chunkZ >= minChunkZ && chunkZ <= maxChunkZ)
+                result.addAll(entry.getValue().values());
+        }
+        return result;
+    }
+
+    public synchronized List<SpawnerInfo> getNearby(BlockPos center, int radius)
+    {
+        if (grid == null || grid.cellSize() != radius)
+            grid = new SpatialGrid(radius, ordered.values());
+        return grid.getWithin(center, radius);
+    }
+
+    static long chunkKey(BlockPos pos)
+    {
+        return ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+    }
+}
@@ -0,0 +1,89 @@
+package cc.hachem.spawnradar.core;
+
+import net.minecraft.core.BlockPos;
+
+public final class SphereStencil
+{
+    public static final long EMPTY_SPAN = Long.MIN_VALUE;
+
+    private static volatile SphereStencil cached;
+
+    private final double radius;
+    private final int extent;
+    private final int width;
+    private final int[] reach;
+
+    private SphereStencil(double radius)
+    {
+        this.radius = radius;
+        this.extent = (int) Math.ceil(radius);
+        this.width = extent * 2 + 1;
+        this.reach = new int[width * width];
+
+        double radiusSq = radius * radius;
+        for (int dx = -extent; dx <= extent; dx++)
+            for (int dy = -extent; dy <= extent; dy++)
+            {
+                double remaining = radiusSq - ((double) dx * dx + (double) dy * dy);
+                int dz = -1;
+                if (remaining >= 0)
+                {
+                    dz = (int) Math.sqrt(remaining);
+                    while ((double) (dz + 1) * (dz + 1) <= remaining)
+                        dz++;
+                    while ((double) dz * dz > remaining)
+                        dz--;
+                }
+                reach[(dx + extent) * width + (dy + extent)] = dz;
+            }
+    }
+
+    public static SphereStencil forRadius(double radius)
+    {
+        SphereStencil stencil = cached;
+        if (stencil == null || stencil.radius != radius)
+        {
+            stencil = new SphereStencil(radius);
+            cached = stencil;
+        }
+        return stencil;
+    }
+
+    public int extent()
+    {
+        return extent;
+    }
+
+    public int reach(int dx, int dy)
+    {
+        if (dx < -extent || dx > extent || dy < -extent || dy > extent)
+            return -1;
+        return reach[(dx + extent) * width + (dy + extent)];
+    }
+
+    public long clip(BlockPos center, int x, int y, int minZ, int maxZ)
+    {
+        int dz = reach(x - center.getX(), y - center.getY());
+        if (dz < 0)
+            return EMPTY_SPAN;
+
+        int low = Math.max(minZ, center.getZ() - dz);
+        int high = Math.min(maxZ, center.getZ() + dz);
+        return low > high ? EMPTY_SPAN : packSpan(low, high);
+    }
+
+    public static long packSpan(int minZ, int maxZ)
+    {
+        return ((long) minZ << 32) | (maxZ & 0xFFFFFFFFL);
+    }
+
+    public static int spanMin(long span)
+    {
+        return (int) (span >> 32);
+    }
+
+    public static int spanMax(long span)
+    {
+        return (int) span;
+    }
+}
@@ -0,0 +1,180 @@
+package cc.hachem.spawnradar.core;
+
+import java.util.Arrays;
+
+public final class VoxelRegion
+{
+    public interface VoxelConsumer
+    {
+        void accept(int x, int y, int z);
+    }
+
+    private static final VoxelRegion EMPTY = new VoxelRegion(0, 0, 0, 0, 0, 0, new long[0], 0);
+
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int sizeX;
+    private final int sizeY;
+    private final int sizeZ;
+    private final long[] bits;
+    private final int cardinality;
+    private final int contentHash;
+
+    private VoxelRegion(int minX, int minY, int minZ, int sizeX, int sizeY, int sizeZ, long[] bits, int cardinality)
+    {
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.sizeZ = sizeZ;
+        this.bits = bits;
+        this.cardinality = cardinality;
+
+        int hash = Arrays.hashCode(bits);
+        hash = 31 * hash + minX;
+        hash = 31 * hash + minY;
+        hash = 31 * hash + minZ;
+        hash = 31 * hash + sizeX;
+        hash = 31 * hash + sizeY;
+        hash = 31 * hash + sizeZ;
+        this.contentHash = hash;
+    }
+
+    public static VoxelRegion empty()
+    {
+        return EMPTY;
+    }
+
+    public void forEach(VoxelConsumer consumer)
+    {
+        for (int word = 0; word < bits.length; word++)
+        {
+            long value = bits[word];
+            while (value != 0)
+            {
+                int index = (word << 6) + Long.numberOfTrailingZeros(value);
+                value &= value - 1;
+                int lz = index % sizeZ;
+                int rest = index / sizeZ;
+                consumer.accept(minX + rest / sizeY, minY + rest % sizeY, minZ + lz);
+            }
+        }
+    }
+
+    public int cardinality()
+    {
+        return cardinality;
+    }
+
+    public boolean isEmpty()
+    {
+        return cardinality == 0;
+    }
+
+    public int minX() { return minX; }
+    public int minY() { return minY; }
+    public int minZ() { return minZ; }
+    public int maxX() { return minX + sizeX - 1; }
+    public int maxY() { return minY + sizeY - 1; }
+    public int maxZ() { return minZ + sizeZ - 1; }
+
+    public int contentHash()
+    {
+        return contentHash;
+    }
+
+    @Override
+    public boolean equals(Object other)
+    {
+        if (this == other)
+            return true;
+        if (!(other instanceof VoxelRegion region))
+            return false;
+        return contentHash == region.contentHash
+            && minX == region.minX && minY == region.minY && minZ == region.minZ
+            && sizeX == region.sizeX && sizeY == region.sizeY && sizeZ == region.sizeZ
+            && Arrays.equals(bits, region.bits);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return contentHash;
+    }
+
+    public static final class Builder
+    {
+        private final int minX;
+        private final int minY;
+        private final int minZ;
+        private final int sizeX;
+        private final int sizeY;
+        private final int sizeZ;
+        private final long[] bits;
+        private int cardinality;
+        private int usedMinX = Integer.MAX_VALUE, usedMinY = Integer.MAX_VALUE, usedMinZ = Integer.MAX_VALUE;
+        private int usedMaxX = Integer.MIN_VALUE, usedMaxY = Integer.MIN_VALUE, usedMaxZ = Integer.MIN_VALUE;
+
+        public Builder(int minX, int minY, int minZ, int maxX, int maxY, int maxZ)
+        {
+            this.minX = minX;
+            this.minY = minY;
+            this.minZ = minZ;
+            this.sizeX = Math.max(0, maxX - minX + 1);
+            this.sizeY = Math.max(0, maxY - minY + 1);
+            this.sizeZ = Math.max(0, maxZ - minZ + 1);
+            this.bits = new long[(int) (((long) sizeX * sizeY * sizeZ + 63) >>> 6)];
+        }
+
+        public void add(int x, int y, int z)
+        {
+            addSpan(x, y, z, z);
+        }
+
+        public void addSpan(int x, int y, int fromZ, int toZ)
+        {
+            int lx = x - minX, ly = y - minY;
+            if (lx < 0 || ly < 0 || lx >= sizeX || ly >= sizeY)
+                return;
+            int lzFrom = Math.max(0, fromZ - minZ);
+            int lzTo = Math.min(sizeZ - 1, toZ - minZ);
+            if (lzFrom > lzTo)
+                return;
+
+            int base = (lx * sizeY + ly) * sizeZ;
+            for (int lz = lzFrom; lz <= lzTo; lz++)
+            {
+                int index = base + lz;
+                long mask = 1L << index;
+                if ((bits[index >>> 6] & mask) != 0)
+                    continue;
+                bits[index >>> 6] |= mask;
+                cardinality++;
+            }
+
+            usedMinX = Math.min(usedMinX, x);
+            usedMaxX = Math.max(usedMaxX, x);
+            usedMinY = Math.min(usedMinY, y);
+            usedMaxY = Math.max(usedMaxY, y);
+            usedMinZ = Math.min(usedMinZ, minZ + lzFrom);
+            usedMaxZ = Math.max(usedMaxZ, minZ + lzTo);
+        }
+
+        public VoxelRegion build()
+        {
+            if (cardinality == 0)
+                return EMPTY;
+
+            VoxelRegion loose = new VoxelRegion(minX, minY, minZ, sizeX, sizeY, sizeZ, bits, cardinality);
+            if (usedMinX == minX && usedMinY == minY && usedMinZ == minZ
+                && usedMaxX == loose.maxX() && usedMaxY == loose.maxY() && usedMaxZ == loose.maxZ())
+                return loose;
+
+            Builder tight = new Builder(usedMinX, usedMinY, usedMinZ, usedMaxX, usedMaxY, usedMaxZ);
+            loose.forEach(tight::add);
+            return tight.build();
+        }
+    }
+}
@@ -2,7 +2,9 @@ package cc.hachem.spawnradar.hud;
 
 import cc.hachem.spawnradar.RadarClient;
 import cc.hachem.spawnradar.config.ConfigManager;
+import cc.hachem.spawnradar.core.BlockBank;
 import cc.hachem.spawnradar.core.ClusterManager;
+import cc.hachem.spawnradar.core.ScanJob;
 import cc.hachem.spawnradar.core.SpawnerCluster;
 import java.util.ArrayList;
 import java.util.List;
@@ -31,6 +33,7 @@ public class PanelWidget extends Widget
     private static int pageTextX = 0;
     private static int pageTextY = 0;
     private static final int paginationSpacing = 8;
+    private static final int progressBarHeight = 4;
 
     public PanelWidget(int x, int y)
     {
@@ -271,6 +274,8 @@ public class PanelWidget extends Widget
             elementY += child.getHeight() + 5;
         }
 
+        renderScanProgress(context, textRenderer, listX, elementY, listWidth);
+
         if (pageCount >= 1)
         {
             previousPageWidget.render(context);
@@ -279,6 +284,25 @@ public class PanelWidget extends Widget
         }
     }
 
+    private static void renderScanProgress(GuiGraphics context, Font textRenderer, int x, int y, int width)
+    {
+        ScanJob job = BlockBank.getActiveScan();
+        if (job == null || !job.isActive())
+            return;
+
+        ScanJob.ScanProgress progress = job.progress();
+        String label = progress.phase() == ScanJob.Phase.SCANNING
+            ? Component.translatable("text.spawn_radar.scan_progress",
+                progress.chunksScanned(), progress.chunksTotal(), progress.spawnersFound()).getString()
+            : Component.translatable(progress.phase().toString()).getString();
+        context.drawString(textRenderer, label, x, y, CommonColors.WHITE, false);
+
+        int barY = y + textRenderer.lineHeight + 2;
+        int filled = Math.round(width * progress.fraction());
+        context.fill(x, barY, x + width, barY + progressBarHeight, 0x80000000);
+        context.fill(x, barY, x + filled, barY + progressBarHeight, CommonColors.GREEN);
+    }
+
     private static List<Widget> getVisiblePageElements()
     {
         int start = currentPage * elementCount;
@@ -0,0 +1,13 @@
+package cc.hachem.spawnradar.mixin;
+
+import net.minecraft.client.Camera;
+import net.minecraft.client.renderer.GameRenderer;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Invoker;
+
+@Mixin(GameRenderer.class)
+public interface GameRendererAccessor
+{
+	@Invoker("getFov")
+	float spawnRadar$getFov(Camera camera, float partialTick, boolean useFovSetting);
+}
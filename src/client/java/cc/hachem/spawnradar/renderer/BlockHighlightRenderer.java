@@ -1,32 +1,29 @@
 package cc.hachem.spawnradar.renderer;
 
 import cc.hachem.spawnradar.RadarClient;
+import cc.hachem.spawnradar.core.SpawnerInfo;
+import cc.hachem.spawnradar.core.VoxelRegion;
 import com.mojang.blaze3d.buffers.GpuBuffer;
 import com.mojang.blaze3d.pipeline.RenderPipeline;
 import com.mojang.blaze3d.platform.DepthTestFunction;
-import com.mojang.blaze3d.systems.CommandEncoder;
 import com.mojang.blaze3d.systems.RenderPass;
 import com.mojang.blaze3d.systems.RenderSystem;
 import com.mojang.blaze3d.vertex.BufferBuilder;
 import com.mojang.blaze3d.vertex.ByteBufferBuilder;
 import com.mojang.blaze3d.vertex.DefaultVertexFormat;
 import com.mojang.blaze3d.vertex.MeshData;
-import com.mojang.blaze3d.vertex.PoseStack;
 import com.mojang.blaze3d.vertex.VertexFormat;
 import net.fabricmc.fabric.api.client.rendering.v1.world.WorldRenderContext;
 import net.minecraft.client.Minecraft;
-import net.minecraft.client.renderer.MappableRingBuffer;
 import net.minecraft.client.renderer.RenderPipelines;
 import net.minecraft.core.BlockPos;
 import net.minecraft.resources.Identifier;
-import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
+import org.joml.Matrix4f;
 import org.joml.Vector3f;
-import org.joml.Vector4f;
-import org.lwjgl.system.MemoryUtil;
 
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.OptionalDouble;
@@ -35,214 +32,273 @@ import java.util.Set;
 
 public class BlockHighlightRenderer
 {
-    public record Color(float r, float g, float b)
-    {
-        public static Color fromHex(int color)
-        {
-            float r = ((color >> 16) & 0xFF) / 255f;
-            float g = ((color >> 8) & 0xFF) / 255f;
-            float b = (color & 0xFF) / 255f;
-            return new Color(r, g, b);
-        }
-    }
-
-    private record QuadVertices(
-        float x1, float y1, float z1,
-        float x2, float y2, float z2,
-        float x3, float y3, float z3,
-        float x4, float y4, float z4
-    )
-    {
-        QuadVertices reversed()
-        {
-            return new QuadVertices(
-                x1, y1, z1,
-                x4, y4, z4,
-                x3, y3, z3,
-                x2, y2, z2
-            );
-        }
-    }
-
     private static final RenderPipeline FILLED_THROUGH_WALLS = RenderPipelines.register(
         RenderPipeline.builder(RenderPipelines.DEBUG_FILLED_SNIPPET)
             .withLocation(Identifier.fromNamespaceAndPath(RadarClient.MOD_ID, "pipeline/highlights"))
             .withVertexFormat(DefaultVertexFormat.POSITION_COLOR, VertexFormat.Mode.TRIANGLES)
             .withDepthTestFunction(DepthTestFunction.NO_DEPTH_TEST)
+            .withCull(false)
             .build()
     );
 
-    private static final Vector4f COLOR_MODULATOR = new Vector4f(1f, 1f, 1f, 1f);
-    private static final ByteBufferBuilder ALLOCATOR = new ByteBufferBuilder(16_384);
-
-    private static BufferBuilder buffer;
-    private static MappableRingBuffer vertexBuffer;
-    private static final Map<Integer, CachedMesh> REGION_MESH_CACHE = new HashMap<>();
+    private static final ByteBufferBuilder BAKE_ALLOCATOR = new ByteBufferBuilder(16_384);
+    private static final GreedyMesher.Face[] FACES = GreedyMesher.Face.values();
+    private static final float[] WHITE = { 1f, 1f, 1f, 1f };
+    private static final Matrix4f IDENTITY = new Matrix4f();
+    private static final Matrix4f BAKE_POSE = new Matrix4f();
 
-    private record CachedMesh(int regionHash, List<GreedyMesher.Quad> quads) {}
+    private static final float[] QUAD = new float[12];
+    private static final Vector3f VERTEX = new Vector3f();
 
-    public static void draw(WorldRenderContext context, BlockPos position, int color, float a)
+    private static final Map<Integer, CachedMesh> REGION_MESH_CACHE = new HashMap<>();
+    private static final RegionDrawQueue<CachedMesh> PENDING_REGIONS = new RegionDrawQueue<>();
+    private static final VertexCounter VERTICES = new VertexCounter();
+    private static CachedMesh highlightBatch;
+
+    private record CachedMesh(
+        long version,
+        GpuBuffer vertices,
+        int indexCount,
+        int originX,
+        int originY,
+        int originZ,
+        int maxX,
+        int maxY,
+        int maxZ
+    ) {}
+
+    public static void fillRegionMesh(WorldRenderContext context, int regionId, VoxelRegion region, int color, float a)
     {
-        if (isNotVisible(new AABB(position)))
+        if (region.isEmpty())
             return;
 
-        Color tempColor = Color.fromHex(color);
-        float r = tempColor.r();
-        float g = tempColor.g();
-        float b = tempColor.b();
-
-        PoseStack matrices = context.matrices();
-        Vec3 camera = context.worldState().cameraRenderState.pos;
-
-        matrices.pushPose();
-        matrices.translate(-camera.x, -camera.y, -camera.z);
-
-        if (buffer == null)
-            buffer = new BufferBuilder(
-                ALLOCATOR,
-                FILLED_THROUGH_WALLS.getVertexFormatMode(),
-                FILLED_THROUGH_WALLS.getVertexFormat()
-            );
-
-        int x = position.getX();
-        int y = position.getY();
-        int z = position.getZ();
-
-        emitQuad(matrices, buffer, new GreedyMesher.Quad(GreedyMesher.Face.POS_X, x, y, z, 1, 1), r, g, b, a);
-        emitQuad(matrices, buffer, new GreedyMesher.Quad(GreedyMesher.Face.NEG_X, x, y, z, 1, 1), r, g, b, a);
-        emitQuad(matrices, buffer, new GreedyMesher.Quad(GreedyMesher.Face.POS_Y, x, y, z, 1, 1), r, g, b, a);
-        emitQuad(matrices, buffer, new GreedyMesher.Quad(GreedyMesher.Face.NEG_Y, x, y, z, 1, 1), r, g, b, a);
-        emitQuad(matrices, buffer, new GreedyMesher.Quad(GreedyMesher.Face.POS_Z, x, y, z, 1, 1), r, g, b, a);
-        emitQuad(matrices, buffer, new GreedyMesher.Quad(GreedyMesher.Face.NEG_Z, x, y, z, 1, 1), r, g, b, a);
+        if (!ViewFrustum.isVisible(region.minX(), region.minY(), region.minZ(),
+                                   region.maxX() + 1, region.maxY() + 1, region.maxZ() + 1))
+            return;
 
-        matrices.popPose();
+        CachedMesh cachedMesh = getOrCreateMesh(regionId, region);
+        if (cachedMesh != null)
+            queueMesh(context, cachedMesh, color, a);
     }
 
-    public static void fillRegionMesh(WorldRenderContext context, int regionId, List<BlockPos> region, int color, float a)
+    public static void drawHighlights(WorldRenderContext context, long revision, List<SpawnerInfo> highlights, int color, float a)
     {
-        if (region.isEmpty())
+        if (highlights.isEmpty())
+        {
+            clearHighlightBatch();
             return;
+        }
 
-        AABB bounds = computeBounds(region);
-        if (bounds != null && isNotVisible(bounds))
-            return;
+        if (highlightBatch == null || highlightBatch.version() != revision)
+        {
+            clearHighlightBatch();
+            highlightBatch = bakeHighlights(revision, highlights);
+        }
 
-        Color tempColor = Color.fromHex(color);
-        float r = tempColor.r();
-        float g = tempColor.g();
-        float b = tempColor.b();
+        if (highlightBatch != null && isVisible(highlightBatch))
+            queueMesh(context, highlightBatch, color, a);
+    }
 
-        PoseStack matrices = context.matrices();
+    private static void queueMesh(WorldRenderContext context, CachedMesh mesh, int color, float a)
+    {
         Vec3 camera = context.worldState().cameraRenderState.pos;
+        PENDING_REGIONS.add(
+            mesh,
+            RenderSystem.getModelViewMatrix(),
+            context.matrices().last().pose(),
+            mesh.originX(),
+            mesh.originY(),
+            mesh.originZ(),
+            camera.x,
+            camera.y,
+            camera.z,
+            color,
+            a
+        );
+    }
 
-        matrices.pushPose();
-        matrices.translate(-camera.x, -camera.y, -camera.z);
-
-        if (buffer == null)
-            buffer = new BufferBuilder(
-                ALLOCATOR,
-                FILLED_THROUGH_WALLS.getVertexFormatMode(),
-                FILLED_THROUGH_WALLS.getVertexFormat()
-            );
-
-        CachedMesh cachedMesh = getOrCreateMesh(regionId, region);
-        for (GreedyMesher.Quad q : cachedMesh.quads())
-            emitQuad(matrices, buffer, q, r, g, b, a);
-
-        matrices.popPose();
+    private static void clearHighlightBatch()
+    {
+        if (highlightBatch == null)
+            return;
+        PENDING_REGIONS.remove(highlightBatch);
+        highlightBatch.vertices().close();
+        highlightBatch = null;
     }
 
     public static void clearRegionMeshCache()
     {
+        PENDING_REGIONS.clear();
+        for (CachedMesh mesh : REGION_MESH_CACHE.values())
+            mesh.vertices().close();
         REGION_MESH_CACHE.clear();
     }
 
+    public static void evictRegionMeshes(Set<Integer> regionIds)
+    {
+        Iterator<Map.Entry<Integer, CachedMesh>> iterator = REGION_MESH_CACHE.entrySet().iterator();
+        while (iterator.hasNext())
+        {
+            Map.Entry<Integer, CachedMesh> entry = iterator.next();
+            if (!regionIds.contains(entry.getKey()))
+                continue;
+            PENDING_REGIONS.remove(entry.getValue());
+            entry.getValue().vertices().close();
+            iterator.remove();
+        }
+    }
+
+    private static void emitCube(BufferBuilder target, Matrix4f pose, float x, float y, float z, float[] rgba)
+    {
+        for (GreedyMesher.Face face : FACES)
+            emitQuad(target, pose, face, x, y, z, 1, 1, rgba);
+    }
+
     private static void emitQuad(
-        PoseStack matrices,
-        BufferBuilder buffer,
-        GreedyMesher.Quad quad,
-        float r,
-        float g,
-        float b,
-        float a
+        BufferBuilder target,
+        Matrix4f pose,
+        GreedyMesher.Face face,
+        float x,
+        float y,
+        float z,
+        float width,
+        float height,
+        float[] rgba
     )
     {
-        float width = quad.width();
-        float height = quad.height();
-
         if (width <= 0 || height <= 0)
             return;
 
-        QuadVertices vertices = buildVertices(quad);
-        drawQuad(buffer, matrices, vertices, r, g, b, a);
-        drawQuad(buffer, matrices, vertices.reversed(), r, g, b, a);
+        buildVertices(face, x, y, z, width, height, QUAD);
+        quad(target, pose, QUAD, rgba);
     }
 
-    private static CachedMesh getOrCreateMesh(int regionId, List<BlockPos> region)
+    private static CachedMesh getOrCreateMesh(int regionId, VoxelRegion region)
     {
-        int regionHash = hashRegion(region);
+        int regionHash = region.contentHash();
         CachedMesh cached = REGION_MESH_CACHE.get(regionId);
 
-        if (cached != null && cached.regionHash == regionHash)
+        if (cached != null && cached.version() == regionHash)
             return cached;
 
-        Set<BlockPos> set = new HashSet<>(region);
-        List<GreedyMesher.Quad> quads = List.copyOf(GreedyMesher.mesh(set));
+        if (cached != null)
+        {
+            cached.vertices().close();
+            REGION_MESH_CACHE.remove(regionId);
+        }
+
+        BufferBuilder bake = beginBake();
+        BAKE_POSE.translation(-region.minX(), -region.minY(), -region.minZ());
+        for (GreedyMesher.Quad q : GreedyMesher.mesh(region))
+            emitQuad(bake, BAKE_POSE, q.face(), q.x(), q.y(), q.z(), q.width(), q.height(), WHITE);
 
-        cached = new CachedMesh(regionHash, quads);
-        REGION_MESH_CACHE.put(regionId, cached);
+        cached = finishBake(
+            regionHash,
+            bake,
+            region.minX(), region.minY(), region.minZ(),
+            region.maxX() + 1, region.maxY() + 1, region.maxZ() + 1
+        );
+        if (cached != null)
+            REGION_MESH_CACHE.put(regionId, cached);
         return cached;
     }
 
-    private static int hashRegion(List<BlockPos> region)
+    private static CachedMesh bakeHighlights(long revision, List<SpawnerInfo> highlights)
     {
-        int hash = 1;
-        for (BlockPos pos : region)
-            hash = 31 * hash + pos.hashCode();
-        hash = 31 * hash + region.size();
-        return hash;
+        int minX = Integer.MAX_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxY = Integer.MIN_VALUE;
+        int maxZ = Integer.MIN_VALUE;
+        for (SpawnerInfo info : highlights)
+        {
+            BlockPos pos = info.pos();
+            minX = Math.min(minX, pos.getX());
+            minY = Math.min(minY, pos.getY());
+            minZ = Math.min(minZ, pos.getZ());
+            maxX = Math.max(maxX, pos.getX() + 1);
+            maxY = Math.max(maxY, pos.getY() + 1);
+            maxZ = Math.max(maxZ, pos.getZ() + 1);
+        }
+
+        BufferBuilder bake = beginBake();
+        BAKE_POSE.translation(-minX, -minY, -minZ);
+        for (SpawnerInfo info : highlights)
+        {
+            BlockPos pos = info.pos();
+            emitCube(bake, BAKE_POSE, pos.getX(), pos.getY(), pos.getZ(), WHITE);
+        }
+        return finishBake(revision, bake, minX, minY, minZ, maxX, maxY, maxZ);
     }
 
-    private static void drawQuad(
-        BufferBuilder buffer,
-        PoseStack matrices,
-        QuadVertices vertices,
-        float r,
-        float g,
-        float b,
-        float a
-    )
+    private static BufferBuilder beginBake()
     {
-        quad(
-            buffer,
-            matrices,
-            vertices.x1, vertices.y1, vertices.z1,
-            vertices.x2, vertices.y2, vertices.z2,
-            vertices.x3, vertices.y3, vertices.z3,
-            vertices.x4, vertices.y4, vertices.z4,
-            r, g, b, a
+        return new BufferBuilder(
+            BAKE_ALLOCATOR,
+            FILLED_THROUGH_WALLS.getVertexFormatMode(),
+            FILLED_THROUGH_WALLS.getVertexFormat()
         );
     }
 
-    private static QuadVertices buildVertices(GreedyMesher.Quad quad)
+    private static CachedMesh finishBake(
+        long version,
+        BufferBuilder bake,
+        int originX,
+        int originY,
+        int originZ,
+        int maxX,
+        int maxY,
+        int maxZ
+    )
     {
-        float x = quad.x();
-        float y = quad.y();
-        float z = quad.z();
-        float width = quad.width();
-        float height = quad.height();
+        try (MeshData meshData = bake.build())
+        {
+            if (meshData == null)
+                return null;
+
+            VERTICES.addUploaded(meshData.drawState().vertexCount());
+            GpuBuffer vertices = RenderSystem.getDevice().createBuffer(
+                () -> RadarClient.MOD_ID + "_region_mesh",
+                GpuBuffer.USAGE_VERTEX,
+                meshData.vertexBuffer()
+            );
+            return new CachedMesh(
+                version,
+                vertices,
+                meshData.drawState().indexCount(),
+                originX, originY, originZ,
+                maxX, maxY, maxZ
+            );
+        }
+    }
 
+    private static boolean isVisible(CachedMesh mesh)
+    {
+        return ViewFrustum.isVisible(mesh.originX(), mesh.originY(), mesh.originZ(), mesh.maxX(), mesh.maxY(), mesh.maxZ());
+    }
+
+    private static void buildVertices(
+        GreedyMesher.Face face,
+        float x,
+        float y,
+        float z,
+        float width,
+        float height,
+        float[] out
+    )
+    {
         float px = x + 1;
         float py = y + 1;
         float pz = z + 1;
 
-        return switch (quad.face())
+        switch (face)
         {
             case POS_X ->
             {
                 float yMax = y + height;
                 float zMax = z + width;
-                yield new QuadVertices(
+                setQuad(out,
                     px, y, z,
                     px, yMax, z,
                     px, yMax, zMax,
@@ -253,7 +309,7 @@ public class BlockHighlightRenderer
             {
                 float yMax = y + height;
                 float zMax = z + width;
-                yield new QuadVertices(
+                setQuad(out,
                     x, y, z,
                     x, y, zMax,
                     x, yMax, zMax,
@@ -264,7 +320,7 @@ public class BlockHighlightRenderer
             {
                 float xMax = x + width;
                 float zMax = z + height;
-                yield new QuadVertices(
+                setQuad(out,
                     x, py, z,
                     xMax, py, z,
                     xMax, py, zMax,
@@ -275,7 +331,7 @@ public class BlockHighlightRenderer
             {
                 float xMax = x + width;
                 float zMax = z + height;
-                yield new QuadVertices(
+                setQuad(out,
                     x, y, zMax,
                     xMax, y, zMax,
                     xMax, y, z,
@@ -286,7 +342,7 @@ public class BlockHighlightRenderer
             {
                 float xMax = x + width;
                 float yMax = y + height;
-                yield new QuadVertices(
+                setQuad(out,
                     x, y, pz,
                     xMax, y, pz,
                     xMax, yMax, pz,
@@ -297,217 +353,124 @@ public class BlockHighlightRenderer
             {
                 float xMax = x + width;
                 float yMax = y + height;
-                yield new QuadVertices(
+                setQuad(out,
                     x, y, z,
                     x, yMax, z,
                     xMax, yMax, z,
                     xMax, y, z
                 );
             }
-        };
-    }
-
-    private static boolean isNotVisible(AABB box)
-    {
-        if (RadarClient.config == null || !RadarClient.config.frustumCullingEnabled)
-            return false;
-
-        Boolean manualResult = frustumCheck(box);
-        if (manualResult != null)
-            return !manualResult;
-
-        return false;
-    }
-
-    private static AABB computeBounds(List<BlockPos> region)
-    {
-        if (region.isEmpty())
-            return null;
-
-        int minX = Integer.MAX_VALUE;
-        int minY = Integer.MAX_VALUE;
-        int minZ = Integer.MAX_VALUE;
-
-        int maxX = Integer.MIN_VALUE;
-        int maxY = Integer.MIN_VALUE;
-        int maxZ = Integer.MIN_VALUE;
-
-        for (BlockPos pos : region)
-        {
-            int x = pos.getX();
-            int y = pos.getY();
-            int z = pos.getZ();
-
-            if (x < minX) minX = x;
-            if (y < minY) minY = y;
-            if (z < minZ) minZ = z;
-
-            if (x > maxX) maxX = x;
-            if (y > maxY) maxY = y;
-            if (z > maxZ) maxZ = z;
         }
-
-        return new AABB(minX, minY, minZ, maxX + 1, maxY + 1, maxZ + 1);
-    }
-
-    private static Boolean frustumCheck(AABB box)
-    {
-        Minecraft client = Minecraft.getInstance();
-
-        var camera = client.gameRenderer.getMainCamera();
-        Vec3 camPos = camera.position();
-        float yaw = camera.yRot();
-        float pitch = camera.xRot();
-
-        double yawRad = Math.toRadians(yaw);
-        double pitchRad = Math.toRadians(pitch);
-
-        double forwardX = -Math.sin(yawRad) * Math.cos(pitchRad);
-        double forwardY = -Math.sin(pitchRad);
-        double forwardZ = Math.cos(yawRad) * Math.cos(pitchRad);
-
-        Vec3 forward = new Vec3(forwardX, forwardY, forwardZ).normalize();
-
-        Vec3 center = new Vec3(
-            (box.minX + box.maxX) * 0.5,
-            (box.minY + box.maxY) * 0.5,
-            (box.minZ + box.maxZ) * 0.5
-        );
-
-        Vec3 toCenter = center.subtract(camPos);
-        double distance = toCenter.length();
-
-        double width = box.maxX - box.minX;
-        double height = box.maxY - box.minY;
-        double depth = box.maxZ - box.minZ;
-
-        double radius = Math.sqrt(width * width + height * height + depth * depth) * 0.5;
-
-        if (distance <= 1e-3)
-            return true;
-
-        double forwardComponent = toCenter.dot(forward);
-        return !(forwardComponent + radius <= 0);
     }
 
-    private static void quad(
-        BufferBuilder buffer,
-        PoseStack matrices,
+    private static void setQuad(
+        float[] out,
         float x1, float y1, float z1,
         float x2, float y2, float z2,
         float x3, float y3, float z3,
-        float x4, float y4, float z4,
-        float r, float g, float b, float a
+        float x4, float y4, float z4
     )
     {
-        var matrix = matrices.last().pose();
-
-        buffer.addVertex(matrix, x1, y1, z1).setColor(r, g, b, a);
-        buffer.addVertex(matrix, x2, y2, z2).setColor(r, g, b, a);
-        buffer.addVertex(matrix, x3, y3, z3).setColor(r, g, b, a);
-
-        buffer.addVertex(matrix, x1, y1, z1).setColor(r, g, b, a);
-        buffer.addVertex(matrix, x3, y3, z3).setColor(r, g, b, a);
-        buffer.addVertex(matrix, x4, y4, z4).setColor(r, g, b, a);
+        out[0] = x1;
+        out[1] = y1;
+        out[2] = z1;
+        out[3] = x2;
+        out[4] = y2;
+        out[5] = z2;
+        out[6] = x3;
+        out[7] = y3;
+        out[8] = z3;
+        out[9] = x4;
+        out[10] = y4;
+        out[11] = z4;
     }
 
-    public static void submit(Minecraft client)
+    private static void quad(BufferBuilder target, Matrix4f pose, float[] vertices, float[] rgba)
     {
-        if (buffer == null)
-            return;
-
-        MeshData builtBuffer = buffer.buildOrThrow();
-        MeshData.DrawState drawParams = builtBuffer.drawState();
-        VertexFormat format = drawParams.format();
+        vertex(target, pose, vertices, 0, rgba);
+        vertex(target, pose, vertices, 1, rgba);
+        vertex(target, pose, vertices, 2, rgba);
 
-        GpuBuffer vertices = uploadToGPU(drawParams, format, builtBuffer);
-        drawPipeline(client, builtBuffer, drawParams, vertices);
-
-        if (vertexBuffer != null)
-            vertexBuffer.rotate();
-
-        buffer = null;
+        vertex(target, pose, vertices, 0, rgba);
+        vertex(target, pose, vertices, 2, rgba);
+        vertex(target, pose, vertices, 3, rgba);
     }
 
-    private static GpuBuffer uploadToGPU(MeshData.DrawState drawParameters, VertexFormat format, MeshData builtBuffer)
+    private static void vertex(BufferBuilder target, Matrix4f pose, float[] vertices, int index, float[] rgba)
     {
-        int vertexBufferSize = drawParameters.vertexCount() * format.getVertexSize();
-
-        if (vertexBuffer == null || vertexBuffer.size() < vertexBufferSize)
-        {
-            vertexBuffer = new MappableRingBuffer(
-                () -> RadarClient.MOD_ID + "_highlight_renderer",
-                GpuBuffer.USAGE_VERTEX | GpuBuffer.USAGE_MAP_WRITE,
-                vertexBufferSize
-            );
-        }
-
-        CommandEncoder commandEncoder = RenderSystem.getDevice().createCommandEncoder();
+        int offset = index * 3;
+        pose.transformPosition(vertices[offset], vertices[offset + 1], vertices[offset + 2], VERTEX);
+        target.addVertex(VERTEX.x, VERTEX.y, VERTEX.z).setColor(rgba[0], rgba[1], rgba[2], rgba[3]);
+    }
 
-        try (GpuBuffer.MappedView mappedView = commandEncoder
-                                                   .mapBuffer(
-                                                       vertexBuffer.currentBuffer().slice(0, builtBuffer.vertexBuffer().remaining()),
-                                                       false,
-                                                       true
-                                                   ))
-        {
-            MemoryUtil.memCopy(builtBuffer.vertexBuffer(), mappedView.data());
-        }
+    public static void submit(Minecraft client)
+    {
+        if (!PENDING_REGIONS.isEmpty())
+            drawRegions(client);
 
-        return vertexBuffer.currentBuffer();
+        reportFrameStats();
     }
 
-    private static void drawPipeline(
-        Minecraft client,
-        MeshData builtBuffer,
-        MeshData.DrawState drawParameters,
-        GpuBuffer vertices
-    )
+    private static void drawRegions(Minecraft client)
     {
-        var shapeIndexBuffer = RenderSystem.getSequentialBuffer(
-            BlockHighlightRenderer.FILLED_THROUGH_WALLS.getVertexFormatMode()
-        );
-
-        GpuBuffer indices = shapeIndexBuffer.getBuffer(drawParameters.indexCount());
-        VertexFormat.IndexType indexType = shapeIndexBuffer.type();
+        int maxIndexCount = 0;
+        for (int i = 0; i < PENDING_REGIONS.size(); i++)
+        {
+            RegionDrawQueue.Entry<CachedMesh> draw = PENDING_REGIONS.get(i);
+            maxIndexCount = Math.max(maxIndexCount, draw.mesh().indexCount());
+            draw.setTransform(RenderSystem.getDynamicUniforms().writeTransform(
+                draw.modelView(),
+                draw.color(),
+                draw.offset(),
+                IDENTITY
+            ));
+        }
 
-        var dynamicTransforms = RenderSystem.getDynamicUniforms().writeTransform(
-            RenderSystem.getModelViewMatrix(),
-            COLOR_MODULATOR,
-            new Vector3f(),
-            new org.joml.Matrix4f()
-        );
+        var shapeIndexBuffer = RenderSystem.getSequentialBuffer(FILLED_THROUGH_WALLS.getVertexFormatMode());
+        GpuBuffer indices = shapeIndexBuffer.getBuffer(maxIndexCount);
 
         try (RenderPass renderPass = RenderSystem.getDevice()
                                          .createCommandEncoder()
                                          .createRenderPass(
-                                             () -> RadarClient.MOD_ID + "_highlight",
+                                             () -> RadarClient.MOD_ID + "_region_highlight",
                                              client.getMainRenderTarget().getColorTextureView(),
                                              OptionalInt.empty(),
                                              client.getMainRenderTarget().getDepthTextureView(),
                                              OptionalDouble.empty()
                                          ))
         {
-            renderPass.setPipeline(BlockHighlightRenderer.FILLED_THROUGH_WALLS);
+            renderPass.setPipeline(FILLED_THROUGH_WALLS);
             RenderSystem.bindDefaultUniforms(renderPass);
+            renderPass.setIndexBuffer(indices, shapeIndexBuffer.type());
 
-            renderPass.setUniform("DynamicTransforms", dynamicTransforms);
-            renderPass.setVertexBuffer(0, vertices);
-            renderPass.setIndexBuffer(indices, indexType);
-            renderPass.drawIndexed(0, 0, drawParameters.indexCount(), 1);
+            for (int i = 0; i < PENDING_REGIONS.size(); i++)
+            {
+                RegionDrawQueue.Entry<CachedMesh> draw = PENDING_REGIONS.get(i);
+                CachedMesh mesh = draw.mesh();
+                renderPass.setUniform("DynamicTransforms", draw.transform());
+                renderPass.setVertexBuffer(0, mesh.vertices());
+                renderPass.drawIndexed(0, 0, mesh.indexCount(), 1);
+                VERTICES.addDrawn(mesh.indexCount());
+            }
         }
 
-        builtBuffer.close();
+        PENDING_REGIONS.clear();
     }
 
-    public static void close()
+    private static void reportFrameStats()
     {
-        ALLOCATOR.close();
+        if (VERTICES.endFrame())
+            RadarClient.LOGGER.debug(
+                "Highlight renderer uploaded {} vertices and drew {} vertices this frame.",
+                VERTICES.lastUploaded(),
+                VERTICES.lastDrawn()
+            );
+    }
 
-        if (vertexBuffer != null)
-        {
-            vertexBuffer.close();
-            vertexBuffer = null;
-        }
+    public static void close()
+    {
+        clearRegionMeshCache();
+        clearHighlightBatch();
+        BAKE_ALLOCATOR.close();
     }
 }
@@ -1,6 +1,7 @@
 package cc.hachem.spawnradar.renderer;
 
 import cc.hachem.spawnradar.RadarClient;
+import cc.hachem.spawnradar.core.SpawnerInfo;
 import com.mojang.blaze3d.buffers.GpuBuffer;
 import com.mojang.blaze3d.pipeline.RenderPipeline;
 import com.mojang.blaze3d.platform.DepthTestFunction;
@@ -47,10 +48,17 @@ public final class BoxOutlineRenderer
     );
 
     private static final ByteBufferBuilder ALLOCATOR = new ByteBufferBuilder(4_096);
+    private static final ByteBufferBuilder BAKE_ALLOCATOR = new ByteBufferBuilder(16_384);
     private static final Vector4f COLOR_MODULATOR = new Vector4f(1f, 1f, 1f, 1f);
+    private static final Vector3f NO_OFFSET = new Vector3f();
+    private static final Matrix4f IDENTITY = new Matrix4f();
+    private static final float[] WHITE = { 1f, 1f, 1f, 1f };
+    private static final float[] RGBA = new float[4];
+    private static final RegionDrawQueue<BakedBatch> PENDING_BATCHES = new RegionDrawQueue<>();
 
     private static BufferBuilder buffer;
     private static MappableRingBuffer vertexBuffer;
+    private static BakedBatch highlightBatch;
 
     private static final Map<MeshKey, List<Quad>> MESH_CACHE = new ConcurrentHashMap<>();
 
@@ -66,6 +74,17 @@ public final class BoxOutlineRenderer
 
     private record MeshKey(double width, double height, double depth, double thickness) {}
 
+    private record BakedBatch(
+        long revision,
+        float thickness,
+        GpuBuffer vertices,
+        int indexCount,
+        int originX,
+        int originY,
+        int originZ,
+        AABB bounds
+    ) {}
+
     private record Quad(
         float x1, float y1, float z1,
         float x2, float y2, float z2,
@@ -105,16 +124,14 @@ public final class BoxOutlineRenderer
         if (width <= 0 || height <= 0 || depth <= 0)
             return;
 
-        AABB bounds = new AABB(
+        if (!ViewFrustum.isVisible(
             originX,
             originY,
             originZ,
             originX + width,
             originY + height,
             originZ + depth
-        );
-
-        if (shouldCull(bounds))
+        ))
             return;
 
         ensureBuffer();
@@ -126,16 +143,63 @@ public final class BoxOutlineRenderer
         matrices.translate(-camera.x, -camera.y, -camera.z);
 
         Matrix4f matrix = matrices.last().pose();
-        float[] rgba = decodeColor(color, alpha);
+        decodeColor(color, alpha, RGBA);
 
         List<Quad> mesh = getOrCreateMesh(width, height, depth, thickness);
-        emitMesh(matrix, mesh, rgba, originX, originY, originZ);
+        emitMesh(buffer, matrix, mesh, RGBA, originX, originY, originZ);
 
         matrices.popPose();
     }
 
+    public static void drawHighlights(
+        WorldRenderContext context,
+        long revision,
+        List<SpawnerInfo> highlights,
+        int color,
+        float alpha,
+        float thickness
+    )
+    {
+        if (highlights.isEmpty())
+        {
+            clearHighlightBatch();
+            return;
+        }
+
+        if (highlightBatch == null || highlightBatch.revision() != revision || highlightBatch.thickness() != thickness)
+        {
+            clearHighlightBatch();
+            highlightBatch = bakeHighlights(revision, highlights, thickness);
+        }
+
+        if (highlightBatch == null)
+            return;
+
+        AABB bounds = highlightBatch.bounds();
+        if (!ViewFrustum.isVisible(bounds.minX, bounds.minY, bounds.minZ, bounds.maxX, bounds.maxY, bounds.maxZ))
+            return;
+
+        Vec3 camera = context.worldState().cameraRenderState.pos;
+        PENDING_BATCHES.add(
+            highlightBatch,
+            RenderSystem.getModelViewMatrix(),
+            context.matrices().last().pose(),
+            highlightBatch.originX(),
+            highlightBatch.originY(),
+            highlightBatch.originZ(),
+            camera.x,
+            camera.y,
+            camera.z,
+            color,
+            alpha
+        );
+    }
+
     public static void submit(Minecraft client)
     {
+        if (!PENDING_BATCHES.isEmpty())
+            drawBatches(client);
+
         if (buffer == null)
             return;
 
@@ -152,6 +216,109 @@ public final class BoxOutlineRenderer
         buffer = null;
     }
 
+    private static BakedBatch bakeHighlights(long revision, List<SpawnerInfo> highlights, float thickness)
+    {
+        BlockPos origin = highlights.getFirst().pos();
+        List<Quad> mesh = getOrCreateMesh(1, 1, 1, thickness);
+
+        BufferBuilder bake = new BufferBuilder(
+            BAKE_ALLOCATOR,
+            PIPELINE.getVertexFormatMode(),
+            PIPELINE.getVertexFormat()
+        );
+
+        AABB bounds = new AABB(origin);
+        for (SpawnerInfo info : highlights)
+        {
+            BlockPos pos = info.pos();
+            bounds = bounds.minmax(new AABB(pos));
+            emitMesh(
+                bake,
+                IDENTITY,
+                mesh,
+                WHITE,
+                pos.getX() - origin.getX(),
+                pos.getY() - origin.getY(),
+                pos.getZ() - origin.getZ()
+            );
+        }
+
+        try (MeshData meshData = bake.build())
+        {
+            if (meshData == null)
+                return null;
+
+            GpuBuffer vertices = RenderSystem.getDevice().createBuffer(
+                () -> RadarClient.MOD_ID + "_outline_batch",
+                GpuBuffer.USAGE_VERTEX,
+                meshData.vertexBuffer()
+            );
+            return new BakedBatch(
+                revision,
+                thickness,
+                vertices,
+                meshData.drawState().indexCount(),
+                origin.getX(),
+                origin.getY(),
+                origin.getZ(),
+                bounds.inflate(thickness / 16.0)
+            );
+        }
+    }
+
+    private static void drawBatches(Minecraft client)
+    {
+        int maxIndexCount = 0;
+        for (int i = 0; i < PENDING_BATCHES.size(); i++)
+        {
+            RegionDrawQueue.Entry<BakedBatch> draw = PENDING_BATCHES.get(i);
+            maxIndexCount = Math.max(maxIndexCount, draw.mesh().indexCount());
+            draw.setTransform(RenderSystem.getDynamicUniforms().writeTransform(
+                draw.modelView(),
+                draw.color(),
+                draw.offset(),
+                IDENTITY
+            ));
+        }
+
+        var shapeIndexBuffer = RenderSystem.getSequentialBuffer(PIPELINE.getVertexFormatMode());
+        GpuBuffer indices = shapeIndexBuffer.getBuffer(maxIndexCount);
+
+        try (RenderPass renderPass = RenderSystem.getDevice()
+                                         .createCommandEncoder()
+                                         .createRenderPass(
+                                             () -> RadarClient.MOD_ID + "_outline_batch",
+                                             client.getMainRenderTarget().getColorTextureView(),
+                                             OptionalInt.empty(),
+                                             client.getMainRenderTarget().getDepthTextureView(),
+                                             OptionalDouble.empty()
+                                         ))
+        {
+            renderPass.setPipeline(PIPELINE);
+            RenderSystem.bindDefaultUniforms(renderPass);
+            renderPass.setIndexBuffer(indices, shapeIndexBuffer.type());
+
+            for (int i = 0; i < PENDING_BATCHES.size(); i++)
+            {
+                RegionDrawQueue.Entry<BakedBatch> draw = PENDING_BATCHES.get(i);
+                renderPass.setUniform("DynamicTransforms", draw.transform());
+                renderPass.setVertexBuffer(0, draw.mesh().vertices());
+                renderPass.drawIndexed(0, 0, draw.mesh().indexCount(), 1);
+            }
+        }
+
+        PENDING_BATCHES.clear();
+    }
+
+    private static void clearHighlightBatch()
+    {
+        if (highlightBatch == null)
+            return;
+        PENDING_BATCHES.remove(highlightBatch);
+        highlightBatch.vertices().close();
+        highlightBatch = null;
+    }
+
     private static void ensureBuffer()
     {
         if (buffer == null)
@@ -206,6 +373,7 @@ public final class BoxOutlineRenderer
     }
 
     private static void emitMesh(
+        BufferBuilder target,
         Matrix4f matrix,
         List<Quad> mesh,
         float[] rgba,
@@ -215,10 +383,11 @@ public final class BoxOutlineRenderer
     )
     {
         for (Quad quad : mesh)
-            emitQuad(matrix, quad, rgba, originX, originY, originZ);
+            emitQuad(target, matrix, quad, rgba, originX, originY, originZ);
     }
 
     private static void emitQuad(
+        BufferBuilder target,
         Matrix4f matrix,
         Quad quad,
         float[] rgba,
@@ -228,6 +397,7 @@ public final class BoxOutlineRenderer
     )
     {
         emitDoubleSidedQuad(
+            target,
             matrix,
             quad.x1 + originX, quad.y1 + originY, quad.z1 + originZ,
             quad.x2 + originX, quad.y2 + originY, quad.z2 + originZ,
@@ -323,6 +493,7 @@ public final class BoxOutlineRenderer
     }
 
     private static void emitDoubleSidedQuad(
+        BufferBuilder target,
         Matrix4f matrix,
         double x1, double y1, double z1,
         double x2, double y2, double z2,
@@ -331,11 +502,12 @@ public final class BoxOutlineRenderer
         float[] rgba
     )
     {
-        addQuad(matrix, x1, y1, z1, x2, y2, z2, x3, y3, z3, x4, y4, z4, rgba);
-        addQuad(matrix, x1, y1, z1, x4, y4, z4, x3, y3, z3, x2, y2, z2, rgba);
+        addQuad(target, matrix, x1, y1, z1, x2, y2, z2, x3, y3, z3, x4, y4, z4, rgba);
+        addQuad(target, matrix, x1, y1, z1, x4, y4, z4, x3, y3, z3, x2, y2, z2, rgba);
     }
 
     private static void addQuad(
+        BufferBuilder target,
         Matrix4f matrix,
         double x1, double y1, double z1,
         double x2, double y2, double z2,
@@ -344,12 +516,12 @@ public final class BoxOutlineRenderer
         float[] rgba
     )
     {
-        buffer.addVertex(matrix, (float) x1, (float) y1, (float) z1).setColor(rgba[0], rgba[1], rgba[2], rgba[3]);
-        buffer.addVertex(matrix, (float) x2, (float) y2, (float) z2).setColor(rgba[0], rgba[1], rgba[2], rgba[3]);
-        buffer.addVertex(matrix, (float) x3, (float) y3, (float) z3).setColor(rgba[0], rgba[1], rgba[2], rgba[3]);
-        buffer.addVertex(matrix, (float) x1, (float) y1, (float) z1).setColor(rgba[0], rgba[1], rgba[2], rgba[3]);
-        buffer.addVertex(matrix, (float) x3, (float) y3, (float) z3).setColor(rgba[0], rgba[1], rgba[2], rgba[3]);
-        buffer.addVertex(matrix, (float) x4, (float) y4, (float) z4).setColor(rgba[0], rgba[1], rgba[2], rgba[3]);
+        target.addVertex(matrix, (float) x1, (float) y1, (float) z1).setColor(rgba[0], rgba[1], rgba[2], rgba[3]);
+        target.addVertex(matrix, (float) x2, (float) y2, (float) z2).setColor(rgba[0], rgba[1], rgba[2], rgba[3]);
+        target.addVertex(matrix, (float) x3, (float) y3, (float) z3).setColor(rgba[0], rgba[1], rgba[2], rgba[3]);
+        target.addVertex(matrix, (float) x1, (float) y1, (float) z1).setColor(rgba[0], rgba[1], rgba[2], rgba[3]);
+        target.addVertex(matrix, (float) x3, (float) y3, (float) z3).setColor(rgba[0], rgba[1], rgba[2], rgba[3]);
+        target.addVertex(matrix, (float) x4, (float) y4, (float) z4).setColor(rgba[0], rgba[1], rgba[2], rgba[3]);
     }
 
     private static GpuBuffer upload(
@@ -397,8 +569,8 @@ public final class BoxOutlineRenderer
         var dynamicTransforms = RenderSystem.getDynamicUniforms().writeTransform(
             RenderSystem.getModelViewMatrix(),
             COLOR_MODULATOR,
-            new Vector3f(),
-            new Matrix4f()
+            NO_OFFSET,
+            IDENTITY
         );
 
         try (RenderPass renderPass = RenderSystem.getDevice()
@@ -429,7 +601,9 @@ public final class BoxOutlineRenderer
 
     public static void close()
     {
+        clearHighlightBatch();
         ALLOCATOR.close();
+        BAKE_ALLOCATOR.close();
 
         if (vertexBuffer != null)
         {
@@ -440,51 +614,6 @@ public final class BoxOutlineRenderer
         clearMeshCache();
     }
 
-    private static boolean shouldCull(AABB box)
-    {
-        if (RadarClient.config == null || !RadarClient.config.frustumCullingEnabled)
-            return false;
-
-        return !isWithinView(box);
-    }
-
-    private static boolean isWithinView(AABB box)
-    {
-        Minecraft client = Minecraft.getInstance();
-
-        var camera = client.gameRenderer.getMainCamera();
-        Vec3 camPos = camera.position();
-        Vec3 center = new Vec3(
-            (box.minX + box.maxX) * 0.5,
-            (box.minY + box.maxY) * 0.5,
-            (box.minZ + box.maxZ) * 0.5
-        );
-
-        Vec3 toCenter = center.subtract(camPos);
-        double distance = toCenter.length();
-
-        double width = box.maxX - box.minX;
-        double height = box.maxY - box.minY;
-        double depth = box.maxZ - box.minZ;
-
-        double radius = Math.sqrt(width * width + height * height + depth * depth) * 0.5;
-
-        if (distance <= 1e-3)
-            return true;
-
-        double yawRad = Math.toRadians(camera.yRot());
-        double pitchRad = Math.toRadians(camera.xRot());
-
-        Vec3 forward = new Vec3(
-            -Math.sin(yawRad) * Math.cos(pitchRad),
-            -Math.sin(pitchRad),
-            Math.cos(yawRad) * Math.cos(pitchRad)
-        ).normalize();
-
-        double forwardComponent = toCenter.dot(forward);
-        return forwardComponent + radius > 0;
-    }
-
     private static Vec3[] buildCorners(AABB box)
     {
         return new Vec3[] {
@@ -499,12 +628,12 @@ public final class BoxOutlineRenderer
         };
     }
 
-    private static float[] decodeColor(int color, float alpha)
+    private static void decodeColor(int color, float alpha, float[] out)
     {
-        float r = ((color >> 16) & 0xFF) / 255f;
-        float g = ((color >> 8) & 0xFF) / 255f;
-        float b = (color & 0xFF) / 255f;
-        return new float[] { r, g, b, alpha };
+        out[0] = ((color >> 16) & 0xFF) / 255f;
+        out[1] = ((color >> 8) & 0xFF) / 255f;
+        out[2] = (color & 0xFF) / 255f;
+        out[3] = alpha;
     }
 
     private static Axis determineAxis(Vec3 from, Vec3 to)
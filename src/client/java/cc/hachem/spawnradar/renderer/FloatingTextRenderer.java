@@ -8,6 +8,12 @@ public class FloatingTextRenderer
                               String text, float scale, int color,
                               float offsetX, float offsetY, float offsetZ)
     {
+        double labelX = pos.getX() + offsetX;
+        double labelY = pos.getY() + offsetY;
+        double labelZ = pos.getZ() + offsetZ;
+        if (!ViewFrustum.isVisible(labelX - 1, labelY - 1, labelZ - 1, labelX + 1, labelY + 1, labelZ + 1))
+            return;
+
         Minecraft client = Minecraft.getInstance();
         net.minecraft.client.gui.Font textRenderer = client.font;
         var bufferProvider = client.renderBuffers().bufferSource();
@@ -16,9 +22,9 @@ public class FloatingTextRenderer
 
         matrices.pushPose();
 
-        double x = pos.getX() + offsetX - camera.x;
-        double y = pos.getY() + offsetY - camera.y;
-        double z = pos.getZ() + offsetZ - camera.z;
+        double x = labelX - camera.x;
+        double y = labelY - camera.y;
+        double z = labelZ - camera.z;
 
         matrices.translate(x, y, z);
         matrices.mulPose(client.gameRenderer.getMainCamera().rotation());
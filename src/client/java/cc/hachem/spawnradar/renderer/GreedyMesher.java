@@ -1,11 +1,11 @@
 package cc.hachem.spawnradar.renderer;
 
+import cc.hachem.spawnradar.core.VoxelRegion;
 import org.jetbrains.annotations.NotNull;
 
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;import net.minecraft.core.BlockPos;
 
 public final class GreedyMesher
 {
@@ -33,36 +33,22 @@ public final class GreedyMesher
 
     private GreedyMesher() { }
 
-    public static List<Quad> mesh(Set<BlockPos> region)
+    public static List<Quad> mesh(VoxelRegion region)
     {
         List<Quad> quads = new ArrayList<>();
         if (region == null || region.isEmpty())
             return quads;
 
-        int minX = Integer.MAX_VALUE;
-        int minY = Integer.MAX_VALUE;
-        int minZ = Integer.MAX_VALUE;
-        int maxX = Integer.MIN_VALUE;
-        int maxY = Integer.MIN_VALUE;
-        int maxZ = Integer.MIN_VALUE;
+        int minX = region.minX();
+        int minY = region.minY();
+        int minZ = region.minZ();
 
-        for (BlockPos position : region)
-        {
-            minX = Math.min(minX, position.getX());
-            minY = Math.min(minY, position.getY());
-            minZ = Math.min(minZ, position.getZ());
-            maxX = Math.max(maxX, position.getX());
-            maxY = Math.max(maxY, position.getY());
-            maxZ = Math.max(maxZ, position.getZ());
-        }
-
-        int sizeX = maxX - minX + 1;
-        int sizeY = maxY - minY + 1;
-        int sizeZ = maxZ - minZ + 1;
+        int sizeX = region.maxX() - minX + 1;
+        int sizeY = region.maxY() - minY + 1;
+        int sizeZ = region.maxZ() - minZ + 1;
 
         boolean[][][] occ = new boolean[sizeX][sizeY][sizeZ];
-        for (BlockPos p : region)
-            occ[p.getX() - minX][p.getY() - minY][p.getZ() - minZ] = true;
+        region.forEach((x, y, z) -> occ[x - minX][y - minY][z - minZ] = true);
 
         for (int x = 0; x < sizeX; x++)
         {
@@ -0,0 +1,98 @@
+package cc.hachem.spawnradar.renderer;
+
+import com.mojang.blaze3d.buffers.GpuBufferSlice;
+import java.util.ArrayList;
+import java.util.List;
+import org.joml.Matrix4f;
+import org.joml.Matrix4fc;
+import org.joml.Vector3f;
+import org.joml.Vector4f;
+
+final class RegionDrawQueue<M>
+{
+    static final class Entry<M>
+    {
+        private M mesh;
+        private final Matrix4f modelView = new Matrix4f();
+        private final Vector3f offset = new Vector3f();
+        private final Vector4f color = new Vector4f();
+        private GpuBufferSlice transform;
+
+        M mesh() { return mesh; }
+        Matrix4f modelView() { return modelView; }
+        Vector3f offset() { return offset; }
+        Vector4f color() { return color; }
+        GpuBufferSlice transform() { return transform; }
+
+        void setTransform(GpuBufferSlice transform)
+        {
+            this.transform = transform;
+        }
+    }
+
+    private final List<Entry<M>> entries = new ArrayList<>();
+    private int size;
+
+    void add(M mesh, Matrix4fc modelView, Matrix4fc pose, int originX, int originY, int originZ,
+             double cameraX, double cameraY, double cameraZ, int color, float alpha)
+    {
+        if (size == entries.size())
+            entries.add(new Entry<>());
+
+        Entry<M> entry = entries.get(size++);
+        entry.mesh = mesh;
+        entry.modelView.set(modelView).mul(pose);
+        entry.offset.set((float) (originX - cameraX), (float) (originY - cameraY), (float) (originZ - cameraZ));
+        entry.color.set(
+            ((color >> 16) & 0xFF) / 255f,
+            ((color >> 8) & 0xFF) / 255f,
+            (color & 0xFF) / 255f,
+            alpha
+        );
+    }
+
+    Entry<M> get(int index)
+    {
+        return entries.get(index);
+    }
+
+    int size()
+    {
+        return size;
+    }
+
+    boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    void remove(M mesh)
+    {
+        int kept = 0;
+        for (int i = 0; i < size; i++)
+        {
+            Entry<M> entry = entries.get(i);
+            if (entry.mesh == mesh)
+                continue;
+            entries.set(i, entries.get(kept));
+            entries.set(kept++, entry);
+        }
+
+        for (int i = kept; i < size; i++)
+            release(entries.get(i));
+        size = kept;
+    }
+
+    void clear()
+    {
+        for (int i = 0; i < size; i++)
+            release(entries.get(i));
+        size = 0;
+    }
+
+    private static void release(Entry<?> entry)
+    {
+        entry.mesh = null;
+        entry.transform = null;
+    }
+}
@@ -0,0 +1,39 @@
+package cc.hachem.spawnradar.renderer;
+
+final class VertexCounter
+{
+    private int uploaded;
+    private int drawn;
+    private int lastUploaded = -1;
+    private int lastDrawn = -1;
+
+    void addUploaded(int vertices)
+    {
+        uploaded += vertices;
+    }
+
+    void addDrawn(int vertices)
+    {
+        drawn += vertices;
+    }
+
+    boolean endFrame()
+    {
+        boolean changed = uploaded != lastUploaded || drawn != lastDrawn;
+        lastUploaded = uploaded;
+        lastDrawn = drawn;
+        uploaded = 0;
+        drawn = 0;
+        return changed;
+    }
+
+    int lastUploaded()
+    {
+        return lastUploaded;
+    }
+
+    int lastDrawn()
+    {
+        return lastDrawn;
+    }
+}
@@ -0,0 +1,139 @@
+package cc.hachem.spawnradar.renderer;
+
+import cc.hachem.spawnradar.RadarClient;
+import cc.hachem.spawnradar.mixin.GameRendererAccessor;
+import com.mojang.blaze3d.platform.Window;
+import net.fabricmc.fabric.api.client.rendering.v1.world.WorldRenderContext;
+import net.minecraft.client.Camera;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.player.LocalPlayer;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.effect.MobEffects;
+import net.minecraft.world.phys.Vec3;
+import org.joml.Matrix4f;
+import org.joml.Quaternionf;
+import org.joml.Vector4f;
+
+public final class ViewFrustum
+{
+    private static final float NEAR_PLANE = 0.05f;
+    private static final float FAR_PLANE = 4096f;
+    private static final float MAX_FOV_DEGREES = 170f;
+
+    private static final Matrix4f PROJECTION = new Matrix4f();
+    private static final Matrix4f VIEW = new Matrix4f();
+    private static final Quaternionf ROTATION = new Quaternionf();
+    private static final Vector4f PLANE = new Vector4f();
+    private static final float[][] PLANES = new float[6][4];
+
+    private static boolean planesValid;
+    private static boolean frustumEnabled;
+    private static double maxDistanceSquared;
+    private static double cameraX;
+    private static double cameraY;
+    private static double cameraZ;
+
+    private ViewFrustum() {}
+
+    public static void update(WorldRenderContext context)
+    {
+        Minecraft client = Minecraft.getInstance();
+        Vec3 camera = context.worldState().cameraRenderState.pos;
+        cameraX = camera.x;
+        cameraY = camera.y;
+        cameraZ = camera.z;
+
+        int maxDistance = RadarClient.config != null ? RadarClient.config.maxRenderDistance : 0;
+        maxDistanceSquared = maxDistance > 0 ? (double) maxDistance * maxDistance : Double.POSITIVE_INFINITY;
+
+        frustumEnabled = RadarClient.config != null && RadarClient.config.frustumCullingEnabled;
+        if (!frustumEnabled)
+            return;
+
+        Window window = client.getWindow();
+        if (window.getWidth() <= 0 || window.getHeight() <= 0)
+        {
+            planesValid = false;
+            return;
+        }
+
+        if (isScreenDistorted(client))
+        {
+            planesValid = false;
+            return;
+        }
+
+        Camera mainCamera = client.gameRenderer.getMainCamera();
+        float partialTick = client.getDeltaTracker().getGameTimeDeltaPartialTick(true);
+        float fov = ((GameRendererAccessor) client.gameRenderer).spawnRadar$getFov(mainCamera, partialTick, true);
+        fov = Math.min(MAX_FOV_DEGREES, Math.max(fov, client.options.fov().get()));
+        float aspect = (float) window.getWidth() / window.getHeight();
+        PROJECTION.setPerspective((float) Math.toRadians(fov), aspect, NEAR_PLANE, FAR_PLANE);
+
+        VIEW.rotation(mainCamera.rotation().conjugate(ROTATION));
+        PROJECTION.mul(VIEW);
+
+        for (int i = 0; i < PLANES.length; i++)
+        {
+            PROJECTION.frustumPlane(i, PLANE);
+            PLANES[i][0] = PLANE.x;
+            PLANES[i][1] = PLANE.y;
+            PLANES[i][2] = PLANE.z;
+            PLANES[i][3] = PLANE.w;
+        }
+        planesValid = true;
+    }
+
+    private static boolean isScreenDistorted(Minecraft client)
+    {
+        LocalPlayer player = client.player;
+        if (player == null || client.options.screenEffectScale().get() <= 0)
+            return false;
+        return player.hasEffect(MobEffects.NAUSEA) || player.portalEffectIntensity > 0;
+    }
+
+    public static boolean isVisible(BlockPos pos)
+    {
+        int x = pos.getX();
+        int y = pos.getY();
+        int z = pos.getZ();
+        return isVisible(x, y, z, x + 1, y + 1, z + 1);
+    }
+
+    public static boolean isVisible(double minX, double minY, double minZ, double maxX, double maxY, double maxZ)
+    {
+        double relMinX = minX - cameraX;
+        double relMinY = minY - cameraY;
+        double relMinZ = minZ - cameraZ;
+        double relMaxX = maxX - cameraX;
+        double relMaxY = maxY - cameraY;
+        double relMaxZ = maxZ - cameraZ;
+
+        if (!isWithinDistance(relMinX, relMinY, relMinZ, relMaxX, relMaxY, relMaxZ))
+            return false;
+
+        if (!frustumEnabled || !planesValid)
+            return true;
+
+        for (float[] plane : PLANES)
+        {
+            double px = plane[0] >= 0 ? relMaxX : relMinX;
+            double py = plane[1] >= 0 ? relMaxY : relMinY;
+            double pz = plane[2] >= 0 ? relMaxZ : relMinZ;
+            if (plane[0] * px + plane[1] * py + plane[2] * pz + plane[3] < 0)
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean isWithinDistance(double minX, double minY, double minZ, double maxX, double maxY, double maxZ)
+    {
+        if (maxDistanceSquared == Double.POSITIVE_INFINITY)
+            return true;
+
+        double dx = Math.max(0, Math.max(minX, -maxX));
+        double dy = Math.max(0, Math.max(minY, -maxY));
+        double dz = Math.max(0, Math.max(minZ, -maxZ));
+        return dx * dx + dy * dy + dz * dz <= maxDistanceSquared;
+    }
+}
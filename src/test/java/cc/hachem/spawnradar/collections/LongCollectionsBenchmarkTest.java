@@ -0,0 +1,91 @@
+package cc.hachem.spawnradar.collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+import java.util.Set;
+import net.minecraft.world.level.ChunkPos;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+@Tag("benchmark")
+class LongCollectionsBenchmarkTest
+{
+    private static final int VIEW_DISTANCE = 32;
+    private static final int CROSSINGS = 200;
+    private static final int WARMUP_RUNS = 3;
+
+    private final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void comparesAllocationPerChunkBorderCrossing(TestReporter reporter)
+    {
+        assertTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        Set<Long> boxedActive = new HashSet<>();
+        LongHashSet active = new LongHashSet();
+        LongHashSet desired = new LongHashSet();
+        for (int run = 0; run < WARMUP_RUNS; run++)
+        {
+            crossBoxed(boxedActive);
+            crossPrimitive(active, desired);
+        }
+
+        long boxedBytes = measure(() -> crossBoxed(boxedActive));
+        long primitiveBytes = measure(() -> crossPrimitive(active, desired));
+
+        assertEquals(boxedActive.size(), active.size());
+        for (long key : boxedActive)
+            assertTrue(active.contains(key));
+        assertTrue(primitiveBytes < boxedBytes, primitiveBytes + " >= " + boxedBytes);
+
+        reporter.publishEntry("chunksPerCrossing", String.valueOf((2 * VIEW_DISTANCE + 1) * (2 * VIEW_DISTANCE + 1)));
+        reporter.publishEntry("boxedBytesPerCrossing", String.valueOf(boxedBytes / CROSSINGS));
+        reporter.publishEntry("primitiveBytesPerCrossing", String.valueOf(primitiveBytes / CROSSINGS));
+    }
+
+    private long measure(Runnable crossings)
+    {
+        long threadId = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        crossings.run();
+        return threads.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    private static void crossBoxed(Set<Long> active)
+    {
+        for (int crossing = 0; crossing < CROSSINGS; crossing++)
+        {
+            Set<Long> desired = new HashSet<>();
+            for (int dx = -VIEW_DISTANCE; dx <= VIEW_DISTANCE; dx++)
+                for (int dz = -VIEW_DISTANCE; dz <= VIEW_DISTANCE; dz++)
+                {
+                    long key = ChunkPos.asLong(crossing + dx, dz);
+                    desired.add(key);
+                    active.add(key);
+                }
+            active.removeIf(key -> !desired.contains(key));
+        }
+    }
+
+    private static void crossPrimitive(LongHashSet active, LongHashSet desired)
+    {
+        for (int crossing = 0; crossing < CROSSINGS; crossing++)
+        {
+            desired.clear();
+            for (int dx = -VIEW_DISTANCE; dx <= VIEW_DISTANCE; dx++)
+                for (int dz = -VIEW_DISTANCE; dz <= VIEW_DISTANCE; dz++)
+                {
+                    long key = ChunkPos.asLong(crossing + dx, dz);
+                    desired.add(key);
+                    active.add(key);
+                }
+            active.removeIf(key -> !desired.contains(key));
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package cc.hachem.spawnradar.collections;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class LongHashSetTest
+{
+    private static final int DEFAULT_MASK = LongHashing.tableSize(LongHashing.DEFAULT_CAPACITY) - 1;
+
+    @Test
+    void keepsProbeChainReachableAfterBackwardShift()
+    {
+        long[] colliding = keysHomedAt(5, 4, DEFAULT_MASK);
+        long[] neighbours = keysHomedAt(6, 2, DEFAULT_MASK);
+        LongHashSet set = new LongHashSet();
+        for (long key : colliding)
+            set.add(key);
+        for (long key : neighbours)
+            set.add(key);
+
+        assertTrue(set.remove(colliding[0]));
+        assertTrue(set.remove(colliding[2]));
+
+        assertFalse(set.contains(colliding[0]));
+        assertFalse(set.contains(colliding[2]));
+        assertTrue(set.contains(colliding[1]));
+        assertTrue(set.contains(colliding[3]));
+        assertTrue(set.contains(neighbours[0]));
+        assertTrue(set.contains(neighbours[1]));
+        assertEquals(4, set.size());
+    }
+
+    @Test
+    void shiftsClusterThatWrapsPastTableEnd()
+    {
+        long[] tail = keysHomedAt(DEFAULT_MASK, 3, DEFAULT_MASK);
+        long[] head = keysHomedAt(0, 2, DEFAULT_MASK);
+        LongHashSet set = new LongHashSet();
+        for (long key : tail)
+            set.add(key);
+        for (long key : head)
+            set.add(key);
+
+        assertTrue(set.remove(tail[0]));
+        assertTrue(set.remove(head[0]));
+
+        assertTrue(set.contains(tail[1]));
+        assertTrue(set.contains(tail[2]));
+        assertTrue(set.contains(head[1]));
+        assertFalse(set.contains(tail[0]));
+        assertFalse(set.contains(head[0]));
+        assertEquals(3, set.size());
+    }
+
+    @Test
+    void storesZeroOutsideTable()
+    {
+        LongHashSet set = new LongHashSet();
+        assertFalse(set.contains(0));
+        assertTrue(set.add(0));
+        assertFalse(set.add(0));
+        set.add(7);
+
+        assertTrue(set.contains(0));
+        assertEquals(2, set.size());
+        assertArrayEquals(new long[] { 0, 7 }, set.toArray());
+
+        assertTrue(set.remove(0));
+        assertFalse(set.remove(0));
+        assertFalse(set.contains(0));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void keepsEveryKeyAcrossResize()
+    {
+        LongHashSet set = new LongHashSet();
+        for (long key = -500; key <= 500; key++)
+            assertTrue(set.add(key * 0x10001L));
+
+        assertEquals(1001, set.size());
+        for (long key = -500; key <= 500; key++)
+            assertTrue(set.contains(key * 0x10001L));
+        assertFalse(set.contains(501 * 0x10001L));
+    }
+
+    @Test
+    void matchesBoxedSetUnderRandomOperations()
+    {
+        Random random = new Random(3);
+        LongHashSet set = new LongHashSet();
+        Set<Long> reference = new HashSet<>();
+        for (int step = 0; step < 50_000; step++)
+        {
+            long key = random.nextInt(2_000) - 1_000;
+            if (random.nextInt(3) == 0)
+                assertEquals(reference.remove(key), set.remove(key), "remove " + key);
+            else
+                assertEquals(reference.add(key), set.add(key), "add " + key);
+        }
+
+        assertEquals(reference.size(), set.size());
+        for (long key = -1_000; key < 1_000; key++)
+            assertEquals(reference.contains(key), set.contains(key), "contains " + key);
+        assertArrayEquals(sorted(reference), sortedCopy(set.toArray()));
+    }
+
+    @Test
+    void removeIfDropsMatchingKeysOnly()
+    {
+        LongHashSet set = new LongHashSet();
+        for (long key = 0; key < 200; key++)
+            set.add(key);
+
+        assertTrue(set.removeIf(key -> key % 2 == 0));
+        assertFalse(set.removeIf(key -> key % 2 == 0));
+
+        assertEquals(100, set.size());
+        for (long key = 0; key < 200; key++)
+            assertEquals(key % 2 != 0, set.contains(key));
+    }
+
+    @Test
+    void copyAndIntersectionSeeSameKeys()
+    {
+        LongHashSet set = new LongHashSet();
+        set.add(0);
+        set.add(42);
+        LongHashSet copy = new LongHashSet(set);
+        set.remove(42);
+
+        assertTrue(copy.contains(42));
+        assertTrue(copy.intersects(set));
+
+        LongHashSet other = new LongHashSet();
+        other.add(42);
+        assertFalse(other.intersects(set));
+        assertTrue(other.intersects(copy));
+    }
+
+    static long[] keysHomedAt(int slot, int count, int mask)
+    {
+        long[] keys = new long[count];
+        int found = 0;
+        for (long key = 1; found < count; key++)
+            if ((LongHashing.mix(key) & mask) == slot)
+                keys[found++] = key;
+        return keys;
+    }
+
+    private static long[] sorted(Set<Long> values)
+    {
+        long[] result = new long[values.size()];
+        int index = 0;
+        for (long value : values)
+            result[index++] = value;
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static long[] sortedCopy(long[] values)
+    {
+        long[] result = values.clone();
+        Arrays.sort(result);
+        return result;
+    }
+}
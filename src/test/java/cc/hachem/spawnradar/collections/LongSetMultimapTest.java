@@ -0,0 +1,126 @@
+package cc.hachem.spawnradar.collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class LongSetMultimapTest
+{
+    private static final int DEFAULT_MASK = LongHashing.tableSize(LongHashing.DEFAULT_CAPACITY) - 1;
+
+    @Test
+    void groupsValuesPerKey()
+    {
+        LongSetMultimap map = new LongSetMultimap();
+        assertTrue(map.put(1, 10));
+        assertTrue(map.put(1, 11));
+        assertFalse(map.put(1, 10));
+        assertTrue(map.put(2, 10));
+
+        assertEquals(2, map.size());
+        assertEquals(2, map.get(1).size());
+        assertEquals(1, map.get(2).size());
+        assertNull(map.get(3));
+    }
+
+    @Test
+    void shiftsEntriesThatWrapPastTableEnd()
+    {
+        long[] tail = LongHashSetTest.keysHomedAt(DEFAULT_MASK, 3, DEFAULT_MASK);
+        long[] head = LongHashSetTest.keysHomedAt(0, 2, DEFAULT_MASK);
+        LongSetMultimap map = new LongSetMultimap();
+        for (long key : tail)
+            map.put(key, key + 1);
+        for (long key : head)
+            map.put(key, key + 1);
+
+        LongHashSet removed = map.removeAll(tail[1]);
+        assertTrue(removed.contains(tail[1] + 1));
+        assertNull(map.removeAll(tail[1]));
+
+        assertTrue(map.get(tail[0]).contains(tail[0] + 1));
+        assertTrue(map.get(tail[2]).contains(tail[2] + 1));
+        assertTrue(map.get(head[0]).contains(head[0] + 1));
+        assertTrue(map.get(head[1]).contains(head[1] + 1));
+        assertFalse(map.containsKey(tail[1]));
+        assertEquals(4, map.size());
+    }
+
+    @Test
+    void storesZeroKeyOutsideTable()
+    {
+        LongSetMultimap map = new LongSetMultimap();
+        map.put(0, 5);
+        map.put(0, 6);
+        map.put(9, 0);
+
+        assertEquals(2, map.size());
+        assertEquals(2, map.get(0).size());
+        assertTrue(map.get(9).contains(0));
+
+        assertEquals(2, map.removeAll(0).size());
+        assertFalse(map.containsKey(0));
+        assertNull(map.removeAll(0));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void putAllReplacesOrRemovesSet()
+    {
+        LongSetMultimap map = new LongSetMultimap();
+        map.put(4, 1);
+        LongHashSet replacement = new LongHashSet();
+        replacement.add(2);
+
+        map.putAll(4, replacement);
+        assertSame(replacement, map.get(4));
+        assertEquals(1, map.size());
+
+        map.putAll(4, new LongHashSet());
+        assertFalse(map.containsKey(4));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void matchesBoxedMapAcrossResize()
+    {
+        Random random = new Random(5);
+        LongSetMultimap map = new LongSetMultimap();
+        Map<Long, Set<Long>> reference = new HashMap<>();
+        for (int step = 0; step < 20_000; step++)
+        {
+            long key = random.nextInt(600) - 300;
+            if (random.nextInt(4) == 0)
+                assertEquals(reference.remove(key) != null, map.removeAll(key) != null, "removeAll " + key);
+            else
+            {
+                long value = random.nextInt(8);
+                assertEquals(reference.computeIfAbsent(key, k -> new HashSet<>()).add(value), map.put(key, value));
+            }
+        }
+
+        assertEquals(reference.size(), map.size());
+        for (long key = -300; key < 300; key++)
+        {
+            Set<Long> expected = reference.get(key);
+            LongHashSet actual = map.get(key);
+            if (expected == null)
+            {
+                assertNull(actual, "key " + key);
+                continue;
+            }
+            assertEquals(expected.size(), actual.size(), "size of " + key);
+            for (long value : expected)
+                assertTrue(actual.contains(value), key + " -> " + value);
+        }
+    }
+}
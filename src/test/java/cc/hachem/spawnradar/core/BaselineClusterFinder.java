@@ -0,0 +1,178 @@
+package cc.hachem.spawnradar.core;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import net.minecraft.core.BlockPos;
+
+final class BaselineClusterFinder
+{
+    record Cluster(int id, List<SpawnerInfo> spawners, List<BlockPos> intersectionRegion) {}
+
+    private record ClusterCandidate(List<SpawnerInfo> members, List<BlockPos> intersection) {}
+
+    private BaselineClusterFinder() {}
+
+    static List<Cluster> findClusters(List<SpawnerInfo> spawners, double activationRadius)
+    {
+        List<Cluster> clusters = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        int nextId = 1;
+
+        for (SpawnerInfo center : spawners)
+        {
+            ClusterCandidate candidate = buildCluster(center, spawners, activationRadius);
+            if (candidate == null)
+                continue;
+
+            String key = clusterKey(candidate.members());
+            if (!seen.add(key))
+                continue;
+
+            clusters.add(new Cluster(nextId++, candidate.members(), candidate.intersection()));
+        }
+
+        appendSingletonClusters(spawners, clusters, nextId, activationRadius);
+        return filterSubsets(clusters);
+    }
+
+    private static List<Cluster> filterSubsets(List<Cluster> clusters)
+    {
+        clusters.sort((c1, c2) -> Integer.compare(c2.spawners().size(), c1.spawners().size()));
+        List<Cluster> filtered = new ArrayList<>();
+        for (int i = 0; i < clusters.size(); i++)
+        {
+            Cluster current = clusters.get(i);
+            boolean isSubset = false;
+            Set<BlockPos> currentPositions = current.spawners().stream()
+                .map(SpawnerInfo::pos)
+                .collect(Collectors.toSet());
+
+            for (int j = 0; j < clusters.size(); j++)
+            {
+                if (i == j)
+                    continue;
+                Cluster other = clusters.get(j);
+                if (other.spawners().size() <= current.spawners().size())
+                    continue;
+                Set<BlockPos> otherPositions = other.spawners().stream()
+                    .map(SpawnerInfo::pos)
+                    .collect(Collectors.toSet());
+                if (otherPositions.containsAll(currentPositions))
+                {
+                    isSubset = true;
+                    break;
+                }
+            }
+
+            if (!isSubset)
+                filtered.add(current);
+        }
+        return filtered;
+    }
+
+    private static ClusterCandidate buildCluster(SpawnerInfo center, List<SpawnerInfo> spawners, double activationRadius)
+    {
+        List<SpawnerInfo> orderedNeighbors = sortedNeighbors(center, spawners);
+
+        List<SpawnerInfo> cluster = new ArrayList<>();
+        cluster.add(center);
+        List<BlockPos> intersection = generateSphere(center.pos(), activationRadius);
+
+        for (SpawnerInfo other : orderedNeighbors)
+        {
+            BlockPos otherPos = other.pos();
+            if (!SpawnerCluster.spheresIntersect(center.pos(), otherPos, activationRadius))
+                break;
+
+            List<BlockPos> newIntersection = computeIntersectionRegion(otherPos, intersection, activationRadius);
+            if (newIntersection.isEmpty())
+                break;
+
+            cluster.add(other);
+            intersection = newIntersection;
+        }
+
+        if (cluster.size() <= 1)
+            return null;
+
+        cluster.sort(Comparator.<SpawnerInfo>comparingInt(info -> info.pos().getX())
+                          .thenComparingInt(info -> info.pos().getY())
+                          .thenComparingInt(info -> info.pos().getZ()));
+
+        return new ClusterCandidate(cluster, intersection);
+    }
+
+    private static List<SpawnerInfo> sortedNeighbors(SpawnerInfo center, List<SpawnerInfo> spawners)
+    {
+        List<SpawnerInfo> others = new ArrayList<>(spawners);
+        others.remove(center);
+
+        final long cx = center.pos().getX();
+        final long cy = center.pos().getY();
+        final long cz = center.pos().getZ();
+
+        others.sort(Comparator.comparingLong(info ->
+        {
+            BlockPos pos = info.pos();
+            long dx = pos.getX() - cx;
+            long dy = pos.getY() - cy;
+            long dz = pos.getZ() - cz;
+            return dx * dx + dy * dy + dz * dz;
+        }));
+
+        return others;
+    }
+
+    private static void appendSingletonClusters(List<SpawnerInfo> spawners, List<Cluster> clusters, int nextId, double activationRadius)
+    {
+        for (SpawnerInfo spawner : spawners)
+        {
+            boolean alreadyIncluded = clusters.stream()
+                .anyMatch(c -> c.spawners().stream().anyMatch(info -> info.pos().equals(spawner.pos())));
+            if (alreadyIncluded)
+                continue;
+
+            clusters.add(new Cluster(nextId++, List.of(spawner), generateSphere(spawner.pos(), activationRadius)));
+        }
+    }
+
+    private static List<BlockPos> generateSphere(BlockPos center, double radius)
+    {
+        List<BlockPos> volume = new ArrayList<>();
+        int r = (int) Math.ceil(radius);
+        for (int x = center.getX() - r; x <= center.getX() + r; x++)
+            for (int y = center.getY() - r; y <= center.getY() + r; y++)
+                for (int z = center.getZ() - r; z <= center.getZ() + r; z++)
+                    if (inSphere(center, x, y, z, radius))
+                        volume.add(new BlockPos(x, y, z));
+        return volume;
+    }
+
+    private static List<BlockPos> computeIntersectionRegion(BlockPos other, List<BlockPos> existingVolume, double radius)
+    {
+        List<BlockPos> result = new ArrayList<>();
+        for (BlockPos pos : existingVolume)
+            if (inSphere(other, pos.getX(), pos.getY(), pos.getZ(), radius))
+                result.add(pos);
+        return result;
+    }
+
+    private static boolean inSphere(BlockPos center, int x, int y, int z, double radius)
+    {
+        double dx = center.getX() - x;
+        double dy = center.getY() - y;
+        double dz = center.getZ() - z;
+        return dx * dx + dy * dy + dz * dz <= radius * radius;
+    }
+
+    private static String clusterKey(List<SpawnerInfo> cluster)
+    {
+        return cluster.stream()
+            .map(info -> info.pos().getX() + "," + info.pos().getY() + "," + info.pos().getZ())
+            .collect(Collectors.joining(";"));
+    }
+}
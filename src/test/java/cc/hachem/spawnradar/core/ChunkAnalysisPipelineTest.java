@@ -0,0 +1,119 @@
+package cc.hachem.spawnradar.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.core.BlockPos;
+import org.junit.jupiter.api.Test;
+
+class ChunkAnalysisPipelineTest
+{
+    private static final int BLOCKING_JOBS = 32;
+    private static final long BUDGET_NANOS = 5_000_000L;
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final List<ChunkAnalysisPipeline.ChunkAnalysis> published = new ArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    void publishesInSubmissionOrderAndForgetsPublishedChunks()
+    {
+        ChunkAnalysisPipeline pipeline = new ChunkAnalysisPipeline(ChunkAnalysisPipelineTest::analyze, published::add);
+        for (long key = 10; key > 0; key--)
+            pipeline.submit(snapshot(key, 0));
+
+        drain(pipeline, 10);
+
+        assertEquals(List.of(10L, 9L, 8L, 7L, 6L, 5L, 4L, 3L, 2L, 1L), publishedKeys());
+        assertEquals(0, pipeline.pendingCount());
+    }
+
+    @Test
+    void replacesQueuedSnapshotOfResubmittedChunk()
+    {
+        ChunkAnalysisPipeline pipeline = new ChunkAnalysisPipeline(this::analyzeBlocking, published::add);
+        for (long key = 1; key <= BLOCKING_JOBS; key++)
+            pipeline.submit(snapshot(key, 0));
+        for (int round = 1; round <= 50; round++)
+            pipeline.submit(snapshot(100, round));
+
+        release.countDown();
+        drain(pipeline, BLOCKING_JOBS + 1);
+
+        ChunkAnalysisPipeline.ChunkAnalysis last = published.get(published.size() - 1);
+        assertEquals(BLOCKING_JOBS + 1, published.size());
+        assertEquals(100L, last.chunkKey());
+        assertEquals(50, last.spawners().get(0).pos().getY());
+        assertEquals(0, pipeline.pendingCount());
+    }
+
+    @Test
+    void skipsCancelledChunksWithoutStallingLaterOnes()
+    {
+        ChunkAnalysisPipeline pipeline = new ChunkAnalysisPipeline(this::analyzeBlocking, published::add);
+        for (long key = 1; key <= BLOCKING_JOBS + 3; key++)
+            pipeline.submit(snapshot(key, 0));
+        pipeline.cancel(2);
+        pipeline.cancel(BLOCKING_JOBS + 2);
+
+        release.countDown();
+        drain(pipeline, BLOCKING_JOBS + 1);
+
+        List<Long> keys = publishedKeys();
+        assertEquals(BLOCKING_JOBS + 1, keys.size());
+        assertTrue(!keys.contains(2L) && !keys.contains((long) BLOCKING_JOBS + 2));
+        assertEquals((long) BLOCKING_JOBS + 3, keys.get(keys.size() - 1));
+        assertEquals(0, pipeline.pendingCount());
+    }
+
+    private void drain(ChunkAnalysisPipeline pipeline, int expected)
+    {
+        long deadline = System.nanoTime() + TIMEOUT_NANOS;
+        while (published.size() < expected && System.nanoTime() < deadline)
+        {
+            pipeline.drain(null, BUDGET_NANOS);
+            Thread.onSpinWait();
+        }
+        pipeline.drain(null, BUDGET_NANOS);
+    }
+
+    private List<Long> publishedKeys()
+    {
+        List<Long> keys = new ArrayList<>();
+        for (ChunkAnalysisPipeline.ChunkAnalysis analysis : published)
+            keys.add(analysis.chunkKey());
+        return keys;
+    }
+
+    private ChunkAnalysisPipeline.ChunkAnalysis analyzeBlocking(ChunkAnalysisPipeline.ChunkSnapshot snapshot)
+    {
+        try
+        {
+            release.await(TIMEOUT_NANOS, TimeUnit.NANOSECONDS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        return analyze(snapshot);
+    }
+
+    private static ChunkAnalysisPipeline.ChunkAnalysis analyze(ChunkAnalysisPipeline.ChunkSnapshot snapshot)
+    {
+        List<SpawnerInfo> spawners = new ArrayList<>();
+        for (ChunkAnalysisPipeline.SpawnerEntry entry : snapshot.spawners())
+            spawners.add(new SpawnerInfo(entry.pos(), null));
+        return new ChunkAnalysisPipeline.ChunkAnalysis(snapshot.chunkKey(), spawners, List.of());
+    }
+
+    private static ChunkAnalysisPipeline.ChunkSnapshot snapshot(long chunkKey, int round)
+    {
+        List<ChunkAnalysisPipeline.SpawnerEntry> spawners =
+            List.of(new ChunkAnalysisPipeline.SpawnerEntry(new BlockPos(0, round, 0), ""));
+        return new ChunkAnalysisPipeline.ChunkSnapshot(null, chunkKey, spawners, round);
+    }
+}
@@ -0,0 +1,161 @@
+package cc.hachem.spawnradar.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+import net.minecraft.world.level.chunk.Strategy;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+@Tag("benchmark")
+class ChunkScannerBenchmarkTest
+{
+    private static final int CHUNKS_PER_SIDE = 8;
+    private static final int SECTIONS = 24;
+    private static final int MIN_SECTION_Y = -4;
+    private static final int SOLID_SECTIONS = 8;
+    private static final int SPAWNER_CHUNK_STRIDE = 8;
+    private static final int SECTION_SIZE = 16;
+    private static final int WARMUP_RUNS = 3;
+    private static final int RUNS = 5;
+
+    private record SyntheticChunk(int baseX, int baseZ, LevelChunkSection[] sections) {}
+
+    @BeforeAll
+    static void bootstrap()
+    {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    @Test
+    void comparesPaletteScanWithFullSweep(TestReporter reporter)
+    {
+        List<SyntheticChunk> chunks = generate(new Random(11));
+        for (int run = 0; run < WARMUP_RUNS; run++)
+        {
+            fullSweep(chunks);
+            paletteScan(chunks);
+        }
+
+        List<BlockPos> expected = List.of();
+        long sweepBest = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++)
+        {
+            long start = System.nanoTime();
+            expected = fullSweep(chunks);
+            sweepBest = Math.min(sweepBest, System.nanoTime() - start);
+        }
+
+        List<BlockPos> actual = List.of();
+        long paletteBest = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++)
+        {
+            long start = System.nanoTime();
+            actual = paletteScan(chunks);
+            paletteBest = Math.min(paletteBest, System.nanoTime() - start);
+        }
+
+        assertEquals(expected, actual);
+        reporter.publishEntry("chunks", String.valueOf(chunks.size()));
+        reporter.publishEntry("spawners", String.valueOf(actual.size()));
+        reporter.publishEntry("fullSweepMs", String.valueOf(sweepBest / 1_000_000));
+        reporter.publishEntry("paletteScanMs", String.valueOf(paletteBest / 1_000_000));
+    }
+
+    private static List<BlockPos> fullSweep(List<SyntheticChunk> chunks)
+    {
+        List<BlockPos> found = new ArrayList<>();
+        for (SyntheticChunk chunk : chunks)
+            for (int index = 0; index < chunk.sections().length; index++)
+            {
+                LevelChunkSection section = chunk.sections()[index];
+                int baseY = SectionPos.sectionToBlockCoord(MIN_SECTION_Y + index);
+                for (int y = 0; y < SECTION_SIZE; y++)
+                    for (int z = 0; z < SECTION_SIZE; z++)
+                        for (int x = 0; x < SECTION_SIZE; x++)
+                        {
+                            BlockPos pos = new BlockPos(chunk.baseX() + x, baseY + y, chunk.baseZ() + z);
+                            if (section.getBlockState(x, y, z).is(Blocks.SPAWNER))
+                                found.add(pos);
+                        }
+            }
+        return found;
+    }
+
+    private static List<BlockPos> paletteScan(List<SyntheticChunk> chunks)
+    {
+        List<BlockPos> found = new ArrayList<>();
+        for (SyntheticChunk chunk : chunks)
+            ChunkScanner.scanSections(chunk.sections(), chunk.baseX(), MIN_SECTION_Y, chunk.baseZ(), found::add);
+        return found;
+    }
+
+    private static List<SyntheticChunk> generate(Random random)
+    {
+        BlockState[] filler = {
+            Blocks.STONE.defaultBlockState(),
+            Blocks.DEEPSLATE.defaultBlockState(),
+            Blocks.ANDESITE.defaultBlockState(),
+            Blocks.COAL_ORE.defaultBlockState(),
+            Blocks.IRON_ORE.defaultBlockState()
+        };
+
+        List<SyntheticChunk> chunks = new ArrayList<>();
+        for (int cx = 0; cx < CHUNKS_PER_SIDE; cx++)
+            for (int cz = 0; cz < CHUNKS_PER_SIDE; cz++)
+            {
+                LevelChunkSection[] sections = new LevelChunkSection[SECTIONS];
+                for (int index = 0; index < SECTIONS; index++)
+                {
+                    sections[index] = emptySection();
+                    if (index < SOLID_SECTIONS)
+                        fill(sections[index], filler, random);
+                }
+
+                if (chunks.size() % SPAWNER_CHUNK_STRIDE == 0)
+                    sections[random.nextInt(SOLID_SECTIONS)].setBlockState(
+                        random.nextInt(SECTION_SIZE),
+                        random.nextInt(SECTION_SIZE),
+                        random.nextInt(SECTION_SIZE),
+                        Blocks.SPAWNER.defaultBlockState()
+                    );
+
+                chunks.add(new SyntheticChunk(cx * SECTION_SIZE, cz * SECTION_SIZE, sections));
+            }
+        return chunks;
+    }
+
+    private static LevelChunkSection emptySection()
+    {
+        PalettedContainer<BlockState> states = new PalettedContainer<>(
+            Blocks.AIR.defaultBlockState(),
+            Strategy.createForBlockStates(Block.BLOCK_STATE_REGISTRY)
+        );
+        return new LevelChunkSection(states, null);
+    }
+
+    private static void fill(LevelChunkSection section, BlockState[] filler, Random random)
+    {
+        for (int y = 0; y < SECTION_SIZE; y++)
+            for (int z = 0; z < SECTION_SIZE; z++)
+                for (int x = 0; x < SECTION_SIZE; x++)
+                {
+                    int pick = random.nextInt(16);
+                    section.setBlockState(x, y, z, filler[pick < filler.length ? pick : 0]);
+                }
+    }
+}
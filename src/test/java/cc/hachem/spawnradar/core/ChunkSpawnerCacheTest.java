@@ -0,0 +1,93 @@
+package cc.hachem.spawnradar.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.entity.EntityType;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class ChunkSpawnerCacheTest
+{
+    private static final BlockPos FIRST = new BlockPos(3, -20, 7);
+    private static final BlockPos SECOND = new BlockPos(12, 40, 1);
+
+    private final Object world = new Object();
+
+    @BeforeAll
+    static void bootstrap()
+    {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    @Test
+    void fingerprintTracksPositionsAndEntityIds()
+    {
+        long base = ChunkSpawnerCache.fingerprint(List.of(entry(FIRST, "minecraft:zombie"), entry(SECOND, "minecraft:skeleton")));
+
+        assertEquals(base, ChunkSpawnerCache.fingerprint(List.of(entry(SECOND, "minecraft:skeleton"), entry(FIRST, "minecraft:zombie"))));
+        assertNotEquals(base, ChunkSpawnerCache.fingerprint(List.of(entry(FIRST, "minecraft:spider"), entry(SECOND, "minecraft:skeleton"))));
+        assertNotEquals(base, ChunkSpawnerCache.fingerprint(List.of(entry(FIRST.above(), "minecraft:zombie"), entry(SECOND, "minecraft:skeleton"))));
+        assertNotEquals(base, ChunkSpawnerCache.fingerprint(List.of(entry(FIRST, "minecraft:zombie"))));
+        assertNotEquals(ChunkSpawnerCache.fingerprint(List.of()), ChunkSpawnerCache.fingerprint(List.of(entry(FIRST, ""))));
+    }
+
+    @Test
+    void returnsSpawnersOnlyForMatchingFingerprint()
+    {
+        ChunkSpawnerCache cache = new ChunkSpawnerCache(8);
+        List<SpawnerInfo> spawners = List.of(new SpawnerInfo(FIRST, EntityType.ZOMBIE));
+        cache.put(world, 1L, 100L, spawners);
+
+        assertEquals(spawners, cache.get(world, 1L, 100L));
+        assertNull(cache.get(world, 1L, 101L));
+        assertNull(cache.get(world, 2L, 100L));
+    }
+
+    @Test
+    void dropsEntriesWhenWorldChanges()
+    {
+        ChunkSpawnerCache cache = new ChunkSpawnerCache(8);
+        cache.put(world, 1L, 100L, List.of(new SpawnerInfo(FIRST, EntityType.ZOMBIE)));
+
+        assertNull(cache.get(new Object(), 1L, 100L));
+        assertNull(cache.get(world, 1L, 100L));
+    }
+
+    @Test
+    void skipsChunksWithUnknownMobs()
+    {
+        ChunkSpawnerCache cache = new ChunkSpawnerCache(8);
+        cache.put(world, 1L, 100L, List.of(new SpawnerInfo(FIRST, EntityType.ZOMBIE)));
+        cache.put(world, 1L, 200L, List.of(new SpawnerInfo(FIRST, EntityType.ZOMBIE), new SpawnerInfo(SECOND, null)));
+
+        assertNull(cache.get(world, 1L, 100L));
+        assertNull(cache.get(world, 1L, 200L));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedChunk()
+    {
+        ChunkSpawnerCache cache = new ChunkSpawnerCache(2);
+        List<SpawnerInfo> spawners = List.of(new SpawnerInfo(FIRST, EntityType.ZOMBIE));
+        cache.put(world, 1L, 10L, spawners);
+        cache.put(world, 2L, 20L, spawners);
+        cache.get(world, 1L, 10L);
+        cache.put(world, 3L, 30L, spawners);
+
+        assertEquals(spawners, cache.get(world, 1L, 10L));
+        assertNull(cache.get(world, 2L, 20L));
+        assertEquals(spawners, cache.get(world, 3L, 30L));
+    }
+
+    private static ChunkAnalysisPipeline.SpawnerEntry entry(BlockPos pos, String entityId)
+    {
+        return new ChunkAnalysisPipeline.SpawnerEntry(pos, entityId);
+    }
+}
@@ -0,0 +1,46 @@
+package cc.hachem.spawnradar.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+@Tag("benchmark")
+class ClusterEngineBenchmarkTest
+{
+    private static final double ACTIVATION_RADIUS = 16.0;
+    private static final int SPAWNERS = 500;
+    private static final int SPREAD = 200;
+    private static final int WARMUP_RUNS = 3;
+    private static final int RUNS = 3;
+
+    @Test
+    void comparesEngineWithBaseline(TestReporter reporter)
+    {
+        List<SpawnerInfo> spawners = ClusterEngineGoldenTest.scatter(new Random(7), SPAWNERS, SPREAD);
+        for (int run = 0; run < WARMUP_RUNS; run++)
+            SpawnerCluster.findClusters(null, spawners, ACTIVATION_RADIUS, SpawnerCluster.SortType.NO_SORT);
+
+        long baselineStart = System.nanoTime();
+        List<BaselineClusterFinder.Cluster> expected = BaselineClusterFinder.findClusters(spawners, ACTIVATION_RADIUS);
+        long baselineNanos = System.nanoTime() - baselineStart;
+
+        long best = Long.MAX_VALUE;
+        List<SpawnerCluster> actual = List.of();
+        for (int run = 0; run < RUNS; run++)
+        {
+            long start = System.nanoTime();
+            actual = SpawnerCluster.findClusters(null, spawners, ACTIVATION_RADIUS, SpawnerCluster.SortType.NO_SORT);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        assertEquals(expected.size(), actual.size());
+        reporter.publishEntry("spawners", String.valueOf(SPAWNERS));
+        reporter.publishEntry("baselineMs", String.valueOf(baselineNanos / 1_000_000));
+        reporter.publishEntry("engineMs", String.valueOf(best / 1_000_000));
+        reporter.publishEntry("clusters", String.valueOf(actual.size()));
+    }
+}
@@ -0,0 +1,122 @@
+package cc.hachem.spawnradar.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import net.minecraft.core.BlockPos;
+import org.junit.jupiter.api.Test;
+
+class ClusterEngineGoldenTest
+{
+    private static final double ACTIVATION_RADIUS = 16.0;
+
+    @Test
+    void matchesBaselineOnFixedLayouts()
+    {
+        assertMatchesBaseline(layout(new BlockPos(0, -20, 0)), ACTIVATION_RADIUS);
+        assertMatchesBaseline(layout(new BlockPos(0, -20, 0), new BlockPos(40, -20, 0)), ACTIVATION_RADIUS);
+        assertMatchesBaseline(layout(new BlockPos(0, -20, 0), new BlockPos(100, -20, 0)), ACTIVATION_RADIUS);
+        assertMatchesBaseline(line(12, 9), ACTIVATION_RADIUS);
+        assertMatchesBaseline(grid(5, 14), ACTIVATION_RADIUS);
+        assertMatchesBaseline(grid(4, 20), 16.5);
+        assertMatchesBaseline(grid(6, 5), 7.0);
+        assertMatchesBaseline(cube(3, 6), ACTIVATION_RADIUS);
+    }
+
+    @Test
+    void matchesBaselineOnSeededLayouts()
+    {
+        Random random = new Random(42);
+        double[] radii = {16.0, 16.5, 7.0};
+        for (int round = 0; round < 120; round++)
+        {
+            int count = 1 + random.nextInt(round < 100 ? 40 : 150);
+            int spread = 8 + random.nextInt(round < 100 ? 60 : 200);
+            assertMatchesBaseline(scatter(random, count, spread), radii[round % radii.length]);
+        }
+    }
+
+    @Test
+    void matchesBaselineOnFiveHundredSpawners()
+    {
+        assertMatchesBaseline(scatter(new Random(7), 500, 200), ACTIVATION_RADIUS);
+    }
+
+    static void assertMatchesBaseline(List<SpawnerInfo> spawners, double radius)
+    {
+        List<BaselineClusterFinder.Cluster> expected = BaselineClusterFinder.findClusters(spawners, radius);
+        List<SpawnerCluster> actual = SpawnerCluster.findClusters(null, spawners, radius, SpawnerCluster.SortType.NO_SORT);
+
+        assertEquals(expected.size(), actual.size(), "cluster count");
+        for (int i = 0; i < expected.size(); i++)
+        {
+            BaselineClusterFinder.Cluster want = expected.get(i);
+            SpawnerCluster got = actual.get(i);
+            assertEquals(want.id(), got.id(), "cluster id at " + i);
+            assertEquals(want.spawners(), got.spawners(), "members of cluster " + want.id());
+            assertEquals(want.intersectionRegion(), positions(got.intersectionRegion()), "region of cluster " + want.id());
+        }
+    }
+
+    private static List<BlockPos> positions(VoxelRegion region)
+    {
+        List<BlockPos> positions = new ArrayList<>(region.cardinality());
+        region.forEach((x, y, z) -> positions.add(new BlockPos(x, y, z)));
+        return positions;
+    }
+
+    private static List<SpawnerInfo> layout(BlockPos... positions)
+    {
+        List<SpawnerInfo> spawners = new ArrayList<>();
+        for (BlockPos pos : positions)
+            spawners.add(new SpawnerInfo(pos, null));
+        return spawners;
+    }
+
+    private static List<SpawnerInfo> line(int count, int spacing)
+    {
+        List<SpawnerInfo> spawners = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+            spawners.add(new SpawnerInfo(new BlockPos(i * spacing, -30, 0), null));
+        return spawners;
+    }
+
+    private static List<SpawnerInfo> grid(int size, int spacing)
+    {
+        List<SpawnerInfo> spawners = new ArrayList<>();
+        for (int x = 0; x < size; x++)
+            for (int z = 0; z < size; z++)
+                spawners.add(new SpawnerInfo(new BlockPos(x * spacing, -30 + (x + z) % 3, z * spacing), null));
+        return spawners;
+    }
+
+    private static List<SpawnerInfo> cube(int size, int spacing)
+    {
+        List<SpawnerInfo> spawners = new ArrayList<>();
+        for (int x = 0; x < size; x++)
+            for (int y = 0; y < size; y++)
+                for (int z = 0; z < size; z++)
+                    spawners.add(new SpawnerInfo(new BlockPos(x * spacing, -40 + y * spacing, z * spacing), null));
+        return spawners;
+    }
+
+    static List<SpawnerInfo> scatter(Random random, int count, int spread)
+    {
+        List<SpawnerInfo> spawners = new ArrayList<>();
+        Set<BlockPos> used = new HashSet<>();
+        while (spawners.size() < count)
+        {
+            BlockPos pos = new BlockPos(
+                random.nextInt(spread) - spread / 2,
+                random.nextInt(Math.max(4, spread / 3)) - 20,
+                random.nextInt(spread) - spread / 2);
+            if (used.add(pos))
+                spawners.add(new SpawnerInfo(pos, null));
+        }
+        return spawners;
+    }
+}
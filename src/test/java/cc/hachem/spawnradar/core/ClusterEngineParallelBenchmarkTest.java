@@ -0,0 +1,87 @@
+package cc.hachem.spawnradar.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import cc.hachem.spawnradar.RadarClient;
+import cc.hachem.spawnradar.config.ConfigManager;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import net.minecraft.core.BlockPos;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+@Tag("benchmark")
+class ClusterEngineParallelBenchmarkTest
+{
+    private static final double ACTIVATION_RADIUS = 16.0;
+    private static final int SPAWNERS = 4000;
+    private static final int SPREAD = 1200;
+    private static final int WARMUP_RUNS = 10;
+    private static final int RUNS = 5;
+    private static final int[] THREAD_COUNTS = {1, 4, 8, 16};
+
+    private final ConfigManager previousConfig = RadarClient.config;
+
+    @AfterEach
+    void restoreConfig()
+    {
+        RadarClient.config = previousConfig;
+    }
+
+    @Test
+    void reportsSpeedupAcrossThreadCounts(TestReporter reporter)
+    {
+        List<SpawnerInfo> spawners = scatter(new Random(13));
+        RadarClient.config = new ConfigManager();
+        reporter.publishEntry("spawners", String.valueOf(SPAWNERS));
+        reporter.publishEntry("cores", String.valueOf(Runtime.getRuntime().availableProcessors()));
+        for (int run = 0; run < WARMUP_RUNS; run++)
+            ClusterEngine.findClusters(spawners, ACTIVATION_RADIUS);
+
+        List<SpawnerCluster> reference = null;
+        long serialMs = 0;
+        for (int threads : THREAD_COUNTS)
+        {
+            RadarClient.config.clusterThreadCount = threads;
+            List<SpawnerCluster> clusters = ClusterEngine.findClusters(spawners, ACTIVATION_RADIUS);
+
+            long best = Long.MAX_VALUE;
+            for (int run = 0; run < RUNS; run++)
+            {
+                long start = System.nanoTime();
+                clusters = ClusterEngine.findClusters(spawners, ACTIVATION_RADIUS);
+                best = Math.min(best, System.nanoTime() - start);
+            }
+
+            long bestMs = Math.max(1, best / 1_000_000);
+            if (reference == null)
+            {
+                reference = clusters;
+                serialMs = bestMs;
+            }
+            else
+                assertEquals(reference, clusters, "clusters with " + threads + " threads");
+
+            reporter.publishEntry(threads + " threads",
+                bestMs + " ms, " + String.format("%.2fx", (double) serialMs / bestMs) + " speedup");
+        }
+    }
+
+    private static List<SpawnerInfo> scatter(Random random)
+    {
+        List<SpawnerInfo> spawners = new ArrayList<>();
+        Set<BlockPos> used = new HashSet<>();
+        while (spawners.size() < SPAWNERS)
+        {
+            BlockPos pos = new BlockPos(random.nextInt(SPREAD), random.nextInt(60) - 50, random.nextInt(SPREAD));
+            if (used.add(pos))
+                spawners.add(new SpawnerInfo(pos, null));
+        }
+        return spawners;
+    }
+}
@@ -0,0 +1,116 @@
+package cc.hachem.spawnradar.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import net.minecraft.core.BlockPos;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ClusterIndexTest
+{
+    private static final double ACTIVATION_RADIUS = 16.0;
+
+    @BeforeEach
+    void resetIndex()
+    {
+        ClusterIndex.clear();
+    }
+
+    @Test
+    void keepsClusterIdsWhenRescanAddsDistantSpawner()
+    {
+        List<SpawnerInfo> spawners = layout(new BlockPos(0, -20, 0), new BlockPos(10, -20, 0), new BlockPos(200, -20, 0));
+        ClusterIndex.ClusterDelta initial = ClusterIndex.update(spawners, ACTIVATION_RADIUS, 1);
+
+        List<SpawnerInfo> rescanned = new ArrayList<>(spawners);
+        rescanned.add(new SpawnerInfo(new BlockPos(400, -20, 0), null));
+        ClusterIndex.ClusterDelta delta = ClusterIndex.update(rescanned, ACTIVATION_RADIUS, 1);
+
+        assertEquals(1, delta.added().size());
+        assertTrue(delta.removedIds().isEmpty());
+        Map<Integer, List<SpawnerInfo>> members = membersById(delta.clusters());
+        for (SpawnerCluster cluster : initial.clusters())
+            assertEquals(cluster.spawners(), members.get(cluster.id()));
+    }
+
+    @Test
+    void reportsNothingWhenRescanFindsSameSpawners()
+    {
+        List<SpawnerInfo> spawners = layout(new BlockPos(0, -20, 0), new BlockPos(12, -20, 4), new BlockPos(90, -20, 0));
+        ClusterIndex.ClusterDelta initial = ClusterIndex.update(spawners, ACTIVATION_RADIUS, 1);
+        ClusterIndex.ClusterDelta delta = ClusterIndex.update(new ArrayList<>(spawners), ACTIVATION_RADIUS, 1);
+
+        assertTrue(delta.added().isEmpty());
+        assertTrue(delta.removedIds().isEmpty());
+        assertEquals(membersById(initial.clusters()), membersById(delta.clusters()));
+    }
+
+    @Test
+    void removesOnlyClustersTouchedByMissingSpawner()
+    {
+        List<SpawnerInfo> spawners = layout(new BlockPos(0, -20, 0), new BlockPos(10, -20, 0),
+                                            new BlockPos(200, -20, 0), new BlockPos(208, -20, 0));
+        ClusterIndex.ClusterDelta initial = ClusterIndex.update(spawners, ACTIVATION_RADIUS, 1);
+        int kept = clusterIdOf(initial.clusters(), spawners.get(0));
+        int dropped = clusterIdOf(initial.clusters(), spawners.get(3));
+
+        ClusterIndex.ClusterDelta delta = ClusterIndex.update(spawners.subList(0, 3), ACTIVATION_RADIUS, 1);
+
+        assertEquals(Set.of(dropped), delta.removedIds());
+        assertEquals(spawners.subList(0, 2), membersById(delta.clusters()).get(kept));
+    }
+
+    @Test
+    void restartsIdsAfterClear()
+    {
+        List<SpawnerInfo> spawners = layout(new BlockPos(0, -20, 0), new BlockPos(100, -20, 0));
+        ClusterIndex.update(spawners, ACTIVATION_RADIUS, 1);
+        ClusterIndex.update(spawners.subList(0, 1), ACTIVATION_RADIUS, 1);
+        ClusterIndex.ClusterDelta grown = ClusterIndex.update(spawners, ACTIVATION_RADIUS, 1);
+        assertEquals(List.of(1, 3), ids(grown.clusters()));
+
+        ClusterIndex.clear();
+        ClusterIndex.ClusterDelta delta = ClusterIndex.update(spawners, ACTIVATION_RADIUS, 1);
+
+        assertEquals(List.of(1, 2), ids(delta.clusters()));
+        assertTrue(delta.removedIds().isEmpty());
+    }
+
+    private static Map<Integer, List<SpawnerInfo>> membersById(List<SpawnerCluster> clusters)
+    {
+        Map<Integer, List<SpawnerInfo>> members = new HashMap<>();
+        for (SpawnerCluster cluster : clusters)
+            members.put(cluster.id(), cluster.spawners());
+        return members;
+    }
+
+    private static int clusterIdOf(List<SpawnerCluster> clusters, SpawnerInfo spawner)
+    {
+        for (SpawnerCluster cluster : clusters)
+            if (cluster.spawners().contains(spawner))
+                return cluster.id();
+        throw new AssertionError("no cluster contains " + spawner.pos());
+    }
+
+    private static List<Integer> ids(List<SpawnerCluster> clusters)
+    {
+        List<Integer> ids = new ArrayList<>();
+        for (SpawnerCluster cluster : clusters)
+            ids.add(cluster.id());
+        return ids;
+    }
+
+    private static List<SpawnerInfo> layout(BlockPos... positions)
+    {
+        List<SpawnerInfo> spawners = new ArrayList<>();
+        for (BlockPos pos : positions)
+            spawners.add(new SpawnerInfo(pos, null));
+        return spawners;
+    }
+}
@@ -0,0 +1,94 @@
+package cc.hachem.spawnradar.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import net.minecraft.core.BlockPos;
+import org.junit.jupiter.api.Test;
+
+class SpawnerBvhTest
+{
+    private static final double MARGIN = 5.0;
+
+    @Test
+    void matchesBruteForceOnRandomLayouts()
+    {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++)
+        {
+            List<SpawnerInfo> spawners = scatter(random, random.nextInt(3000));
+            SpawnerBvh bvh = SpawnerBvh.build(spawners, MARGIN);
+            double centerX = random.nextInt(2000) - 1000;
+            double centerZ = random.nextInt(2000) - 1000;
+            double radius = random.nextInt(400);
+            SpawnerBvh.BoundsTest test = (minX, minY, minZ, maxX, maxY, maxZ) ->
+                maxX >= centerX - radius && minX <= centerX + radius
+                    && maxZ >= centerZ - radius && minZ <= centerZ + radius
+                    && maxY >= 0;
+
+            assertEquals(bruteForce(spawners, test), visible(bvh, test), "round " + round);
+        }
+    }
+
+    @Test
+    void visitsEveryoneWhenNothingIsCulled()
+    {
+        List<SpawnerInfo> spawners = scatter(new Random(3), 1000);
+        SpawnerBvh bvh = SpawnerBvh.build(spawners, MARGIN);
+
+        assertEquals(spawners.size(), bvh.size());
+        assertEquals(new HashSet<>(spawners), visible(bvh, (minX, minY, minZ, maxX, maxY, maxZ) -> true));
+        assertTrue(visible(bvh, (minX, minY, minZ, maxX, maxY, maxZ) -> false).isEmpty());
+    }
+
+    @Test
+    void handlesEmptyAndStackedLayouts()
+    {
+        assertTrue(visible(SpawnerBvh.build(List.of(), MARGIN), (minX, minY, minZ, maxX, maxY, maxZ) -> true).isEmpty());
+
+        List<SpawnerInfo> stacked = new ArrayList<>();
+        for (int i = 0; i < 5000; i++)
+            stacked.add(new SpawnerInfo(new BlockPos(0, i % 2, 0), null));
+        SpawnerBvh bvh = SpawnerBvh.build(stacked, 0.0);
+        List<SpawnerInfo> visited = new ArrayList<>();
+        bvh.forEachVisible((minX, minY, minZ, maxX, maxY, maxZ) -> minY < 1, visited::add);
+
+        assertEquals(2500, visited.size());
+    }
+
+    private static Set<SpawnerInfo> visible(SpawnerBvh bvh, SpawnerBvh.BoundsTest test)
+    {
+        Set<SpawnerInfo> visited = new HashSet<>();
+        bvh.forEachVisible(test, visited::add);
+        return visited;
+    }
+
+    private static Set<SpawnerInfo> bruteForce(List<SpawnerInfo> spawners, SpawnerBvh.BoundsTest test)
+    {
+        Set<SpawnerInfo> visible = new HashSet<>();
+        for (SpawnerInfo spawner : spawners)
+        {
+            BlockPos pos = spawner.pos();
+            if (test.test(pos.getX() - MARGIN, pos.getY() - MARGIN, pos.getZ() - MARGIN,
+                          pos.getX() + 1 + MARGIN, pos.getY() + 1 + MARGIN, pos.getZ() + 1 + MARGIN))
+                visible.add(spawner);
+        }
+        return visible;
+    }
+
+    private static List<SpawnerInfo> scatter(Random random, int count)
+    {
+        List<SpawnerInfo> spawners = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+            spawners.add(new SpawnerInfo(
+                new BlockPos(random.nextInt(2000) - 1000, random.nextInt(300) - 60, random.nextInt(2000) - 1000),
+                null
+            ));
+        return spawners;
+    }
+}
@@ -0,0 +1,113 @@
+package cc.hachem.spawnradar.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SpawnerDatabaseFileTest
+{
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsBackRecordsAfterReopening() throws IOException
+    {
+        Map<Long, List<SpawnerDatabaseFile.StoredSpawner>> expected = new HashMap<>();
+        Random random = new Random(1);
+        for (int round = 0; round < 4; round++)
+        {
+            try (SpawnerDatabaseFile file = SpawnerDatabaseFile.open(directory))
+            {
+                assertStored(file, expected);
+                for (int i = 0; i < 500; i++)
+                {
+                    long chunkKey = random.nextInt(200);
+                    List<SpawnerDatabaseFile.StoredSpawner> spawners = spawners(random, 1 + random.nextInt(3));
+                    file.write(chunkKey, spawners, (previous, current) -> false);
+                    expected.put(chunkKey, spawners);
+                }
+                assertStored(file, expected);
+            }
+        }
+    }
+
+    @Test
+    void skipsWritesTheCallerConsidersUnchanged() throws IOException
+    {
+        List<SpawnerDatabaseFile.StoredSpawner> first = List.of(spawner(1, 10, "minecraft:zombie"));
+        List<SpawnerDatabaseFile.StoredSpawner> second = List.of(spawner(1, 20, "minecraft:zombie"));
+        try (SpawnerDatabaseFile file = SpawnerDatabaseFile.open(directory))
+        {
+            assertTrue(file.isEmpty());
+            assertTrue(file.write(7, first, (previous, current) -> false));
+            assertFalse(file.write(7, second, (previous, current) -> previous.equals(first)));
+            assertEquals(first, file.read(7));
+            assertFalse(file.isEmpty());
+        }
+    }
+
+    @Test
+    void ignoresEmptyWritesForUnknownChunks() throws IOException
+    {
+        try (SpawnerDatabaseFile file = SpawnerDatabaseFile.open(directory))
+        {
+            assertFalse(file.write(3, List.of(), (previous, current) -> false));
+            assertNull(file.read(3));
+            assertTrue(file.isEmpty());
+        }
+    }
+
+    @Test
+    void recoversFromTornJournalTail() throws IOException
+    {
+        List<SpawnerDatabaseFile.StoredSpawner> spawners = List.of(spawner(42, 5, "minecraft:skeleton"));
+        try (SpawnerDatabaseFile file = SpawnerDatabaseFile.open(directory))
+        {
+            file.write(9, spawners, (previous, current) -> false);
+        }
+        Files.write(directory.resolve("spawners.dat"), new byte[] {0, 0, 0, 40, 1, 2}, StandardOpenOption.APPEND);
+
+        try (SpawnerDatabaseFile file = SpawnerDatabaseFile.open(directory))
+        {
+            assertEquals(spawners, file.read(9));
+            file.write(10, spawners, (previous, current) -> false);
+        }
+        try (SpawnerDatabaseFile file = SpawnerDatabaseFile.open(directory))
+        {
+            assertEquals(spawners, file.read(9));
+            assertEquals(spawners, file.read(10));
+        }
+    }
+
+    private static void assertStored(SpawnerDatabaseFile file, Map<Long, List<SpawnerDatabaseFile.StoredSpawner>> expected)
+        throws IOException
+    {
+        for (Map.Entry<Long, List<SpawnerDatabaseFile.StoredSpawner>> entry : expected.entrySet())
+            assertEquals(entry.getValue(), file.read(entry.getKey()), "chunk " + entry.getKey());
+    }
+
+    private static List<SpawnerDatabaseFile.StoredSpawner> spawners(Random random, int count)
+    {
+        SpawnerDatabaseFile.StoredSpawner[] spawners = new SpawnerDatabaseFile.StoredSpawner[count];
+        for (int i = 0; i < count; i++)
+            spawners[i] = spawner(random.nextLong(), random.nextInt(1000), random.nextBoolean() ? "minecraft:zombie" : "");
+        return List.of(spawners);
+    }
+
+    private static SpawnerDatabaseFile.StoredSpawner spawner(long pos, long lastSeenTick, String entityTypeId)
+    {
+        return new SpawnerDatabaseFile.StoredSpawner(pos, lastSeenTick, entityTypeId);
+    }
+}
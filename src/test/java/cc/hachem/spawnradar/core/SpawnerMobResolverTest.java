@@ -0,0 +1,35 @@
+package cc.hachem.spawnradar.core;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.entity.EntityType;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class SpawnerMobResolverTest
+{
+    @BeforeAll
+    static void bootstrap()
+    {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    @Test
+    void resolvesSpawnDataIdThroughRegistry()
+    {
+        assertSame(EntityType.ZOMBIE, SpawnerMobResolver.entityTypeOf("minecraft:zombie"));
+        assertSame(EntityType.CAVE_SPIDER, SpawnerMobResolver.entityTypeOf("cave_spider"));
+    }
+
+    @Test
+    void returnsNullForMissingOrUnknownIds()
+    {
+        assertNull(SpawnerMobResolver.entityTypeOf(""));
+        assertNull(SpawnerMobResolver.entityTypeOf("minecraft:not_a_mob"));
+        assertNull(SpawnerMobResolver.entityTypeOf("Not A Valid Id"));
+    }
+}
@@ -0,0 +1,99 @@
+package cc.hachem.spawnradar.renderer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import org.joml.Matrix4f;
+import org.junit.jupiter.api.Test;
+
+class RegionDrawQueueTest
+{
+    private static final int REGIONS = 64;
+    private static final int FRAMES = 10_000;
+
+    private final Object[] meshes = new Object[REGIONS];
+    private final Matrix4f modelView = new Matrix4f().rotateY(0.5f);
+    private final Matrix4f pose = new Matrix4f().translate(1f, 2f, 3f);
+
+    RegionDrawQueueTest()
+    {
+        for (int i = 0; i < REGIONS; i++)
+            meshes[i] = new Object();
+    }
+
+    @Test
+    void queuesFramesWithoutAllocating()
+    {
+        RegionDrawQueue<Object> queue = new RegionDrawQueue<>();
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().threadId();
+
+        for (int frame = 0; frame < FRAMES; frame++)
+            runFrame(queue);
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int frame = 0; frame < FRAMES; frame++)
+            runFrame(queue);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals(0, allocated, "bytes allocated over " + FRAMES + " frames");
+    }
+
+    @Test
+    void removesOnlyDrawsOfEvictedMesh()
+    {
+        RegionDrawQueue<Object> queue = new RegionDrawQueue<>();
+        for (int i = 0; i < 4; i++)
+            queue.add(meshes[i % 2], modelView, pose, i, 0, 0, 0.0, 0.0, 0.0, 0x336699, 1f);
+
+        queue.remove(meshes[0]);
+
+        assertEquals(2, queue.size());
+        assertSame(meshes[1], queue.get(0).mesh());
+        assertEquals(1f, queue.get(0).offset().x());
+        assertSame(meshes[1], queue.get(1).mesh());
+        assertEquals(3f, queue.get(1).offset().x());
+        assertNull(queue.get(2).mesh());
+        assertNull(queue.get(3).mesh());
+        assertTrue(queue.get(0) != queue.get(2) && queue.get(1) != queue.get(3));
+    }
+
+    @Test
+    void storesCameraRelativeOffsetAndDecodedColor()
+    {
+        RegionDrawQueue<Object> queue = new RegionDrawQueue<>();
+        queue.add(meshes[0], modelView, pose, 16, -32, 48, 10.5, -30.0, 50.25, 0xFF8000, 0.4f);
+
+        RegionDrawQueue.Entry<Object> entry = queue.get(0);
+        assertEquals(5.5f, entry.offset().x());
+        assertEquals(-2f, entry.offset().y());
+        assertEquals(-2.25f, entry.offset().z());
+        assertEquals(1f, entry.color().x());
+        assertEquals(128 / 255f, entry.color().y());
+        assertEquals(0f, entry.color().z());
+        assertEquals(0.4f, entry.color().w());
+        assertEquals(new Matrix4f(modelView).mul(pose), entry.modelView());
+    }
+
+    private void runFrame(RegionDrawQueue<Object> queue)
+    {
+        double cameraX = 0.5;
+        double cameraY = 64.25;
+        double cameraZ = -0.75;
+        for (int i = 0; i < REGIONS; i++)
+            queue.add(meshes[i], modelView, pose, i * 16, -64, -i * 16, cameraX, cameraY, cameraZ, 0x40C0FF, 0.8f);
+        for (int i = 0; i < queue.size(); i++)
+        {
+            RegionDrawQueue.Entry<Object> entry = queue.get(i);
+            entry.setTransform(null);
+        }
+        queue.remove(meshes[REGIONS - 1]);
+        queue.clear();
+    }
+}
@@ -0,0 +1,41 @@
+package cc.hachem.spawnradar.renderer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class VertexCounterTest
+{
+    @Test
+    void sumsUploadsAndDrawsWithinFrame()
+    {
+        VertexCounter counter = new VertexCounter();
+        counter.addUploaded(36);
+        counter.addUploaded(12);
+        counter.addDrawn(36);
+        counter.addDrawn(36);
+
+        assertTrue(counter.endFrame());
+        assertEquals(48, counter.lastUploaded());
+        assertEquals(72, counter.lastDrawn());
+    }
+
+    @Test
+    void reportsOnlyWhenFrameTotalsChange()
+    {
+        VertexCounter counter = new VertexCounter();
+        assertTrue(counter.endFrame());
+
+        counter.addDrawn(36);
+        assertTrue(counter.endFrame());
+        counter.addDrawn(36);
+        assertFalse(counter.endFrame());
+        assertEquals(0, counter.lastUploaded());
+        assertEquals(36, counter.lastDrawn());
+
+        assertTrue(counter.endFrame());
+        assertEquals(0, counter.lastDrawn());
+    }
+}